@@ -0,0 +1,147 @@
+package filesmanager;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ByteScanner <br>
+ * <p>
+ * Recherche d'octets (séparateur, guillemet, saut de ligne...) dans un tableau ou un buffer,
+ * traitée par mots de 8 octets (SWAR) : chaque mot lu est comparé en une seule opération aux
+ * 8 octets recherchés, les derniers octets étant traités un par un
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class ByteScanner {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    private ByteScanner() {
+    }
+
+    /**
+     * indexOf <br>
+     *
+     * @param bytes tableau d'octets
+     * @param from  position de début de la recherche (incluse)
+     * @param to    position de fin de la recherche (exclue)
+     * @param value octet recherché
+     * @return la position de la première occurrence de l'octet, -1 si absent
+     */
+    static int indexOf(byte[] bytes, int from, int to, byte value) {
+        long pattern = broadcast(value);
+        int position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            long matches = zeroBytes((long) LONG_VIEW.get(bytes, position) ^ pattern);
+            if (matches != 0) {
+                return position + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; position < to; position++) {
+            if (bytes[position] == value) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * indexOfAny <br>
+     *
+     * @param bytes  tableau d'octets
+     * @param from   position de début de la recherche (incluse)
+     * @param to     position de fin de la recherche (exclue)
+     * @param first  premier octet recherché
+     * @param second second octet recherché
+     * @return la position de la première occurrence de l'un des deux octets, -1 si absents
+     */
+    static int indexOfAny(byte[] bytes, int from, int to, byte first, byte second) {
+        long firstPattern = broadcast(first);
+        long secondPattern = broadcast(second);
+        int position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            long word = (long) LONG_VIEW.get(bytes, position);
+            long matches = zeroBytes(word ^ firstPattern) | zeroBytes(word ^ secondPattern);
+            if (matches != 0) {
+                return position + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; position < to; position++) {
+            if (bytes[position] == first || bytes[position] == second) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * indexOf <br>
+     *
+     * @param buffer buffer d'octets (tas ou projection en mémoire), sa position n'est pas modifiée
+     * @param from   position de début de la recherche (incluse)
+     * @param to     position de fin de la recherche (exclue)
+     * @param value  octet recherché
+     * @return la position de la première occurrence de l'octet, -1 si absent
+     */
+    static int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        long pattern = broadcast(value);
+        boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        int position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            long matches = zeroBytes(buffer.getLong(position) ^ pattern);
+            if (matches != 0) {
+                // en big endian le premier octet est le plus significatif
+                return position + ((bigEndian ? Long.numberOfLeadingZeros(matches) : Long.numberOfTrailingZeros(matches)) >>> 3);
+            }
+        }
+        for (; position < to; position++) {
+            if (buffer.get(position) == value) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * isAscii <br>
+     *
+     * @param bytes tableau d'octets
+     * @param from  position de début (incluse)
+     * @param to    position de fin (exclue)
+     * @return true si aucun octet de l'intervalle n'a son bit de poids fort positionné
+     */
+    static boolean isAscii(byte[] bytes, int from, int to) {
+        int position = from;
+        long highBits = 0;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            highBits |= (long) LONG_VIEW.get(bytes, position);
+        }
+        for (; position < to; position++) {
+            highBits |= bytes[position];
+        }
+        return (highBits & ~LOW_BITS) == 0;
+    }
+
+    private static long broadcast(byte value) {
+        return (value & 0xFFL) * ONES;
+    }
+
+    /**
+     * zeroBytes <br>
+     *
+     * @param word mot de 8 octets
+     * @return un masque dont seul le bit de poids fort de chaque octet nul du mot est positionné
+     */
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+    }
+
+}
@@ -0,0 +1,55 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * ChannelRangeInputStream <br>
+ * <p>
+ * Flux de lecture d'une plage d'un fichier par lectures positionnées du canal : les octets sont lus directement
+ * dans le tableau du lecteur, sans projection en mémoire ni modification de la position du canal, qui peut ainsi
+ * être partagé entre plusieurs threads
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class ChannelRangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+
+    /**
+     * @param channel canal de lecture du fichier, qui n'est pas fermé avec le flux
+     * @param start   position du premier octet de la plage
+     * @param end     position suivant le dernier octet de la plage
+     */
+    ChannelRangeInputStream(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] bytes = new byte[1];
+        return read(bytes, 0, 1) < 0 ? -1 : bytes[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (position >= end) {
+            return -1;
+        }
+        int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+        if (read < 0) {
+            return -1;
+        }
+        position += read;
+        return read;
+    }
+
+}
@@ -0,0 +1,333 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvBinarySearch <br>
+ * <p>
+ * Recherche dichotomique dans un fichier CSV trié sur une colonne clé : le fichier est projeté en
+ * mémoire une seule fois, par segments d'au plus 1 Go, puis chaque sondage se recale sur le début de
+ * ligne suivant une position et y lit directement la clé par accès absolus aux segments, sans copie de la
+ * ligne. Seules O(log n) lignes sont lues avant les lignes trouvées
+ * </p>
+ * <p>
+ * Le recalage se faisant sur les sauts de ligne, les champs entre guillemets ne doivent pas
+ * contenir de saut de ligne. Un fichier compressé est parcouru séquentiellement
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvBinarySearch {
+
+    /**
+     * taille des segments projetés en mémoire (une projection est limitée à 2 Go)
+     */
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte QUOTE = '"';
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final TextDecoder decoder;
+    private final byte[] separator;
+    private final int keyPosition;
+    private final Comparator<String> keyOrder;
+    /**
+     * octets de la clé de la ligne sondée, réutilisés d'un sondage à l'autre
+     */
+    private byte[] keyBytes = new byte[256];
+    private int keyLength;
+    /**
+     * position suivant la dernière ligne sondée
+     */
+    private long recordEnd;
+
+    private CsvBinarySearch(FileChannel channel, Charset charset, String separator, int keyPosition,
+                            Comparator<String> keyOrder) throws IOException {
+        this.size = channel.size();
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_MASK + 1, size - start));
+        }
+        this.decoder = TextDecoder.of(charset);
+        this.separator = separator.getBytes(charset);
+        this.keyPosition = keyPosition;
+        this.keyOrder = keyOrder;
+    }
+
+    /**
+     * find <br>
+     *
+     * @param path      chemin du fichier, trié sur la colonne clé
+     * @param keyColumn titre de la colonne clé
+     * @param key       valeur de la clé recherchée
+     * @param keyOrder  ordre de tri du fichier sur la colonne clé
+     * @param charset   encodage du fichier
+     * @param separator séparateur des colonnes
+     * @return les lignes dont la colonne clé a la valeur recherchée, sous forme de Map titre-valeur
+     * @throws IOException en cas d'erreur de lecture du fichier
+     */
+    static List<Map<String, String>> find(Path path, String keyColumn, String key, Comparator<String> keyOrder,
+                                          Charset charset, String separator) throws IOException {
+        if (FilesReader.isCompressed(path)) {
+            return scan(path, keyColumn, key, keyOrder, charset, separator);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // (le flux n'est pas fermé, sa fermeture fermerait le canal)
+            CsvReader reader = new CsvReader(Channels.newInputStream(channel), charset, separator);
+            String[] titles = reader.readRecord();
+            if (titles == null) {
+                return Collections.emptyList();
+            }
+            CsvHeader header = CsvHeader.of(FilesReader.extractColumnsPositions(titles, null));
+            Map<String, Integer> keyPositions = FilesReader.extractColumnsPositions(titles, List.of(keyColumn));
+            if (keyPositions.isEmpty()) {
+                return Collections.emptyList();
+            }
+            String keyTitle = keyPositions.keySet().iterator().next();
+
+            CsvBinarySearch search = new CsvBinarySearch(channel, charset, separator, keyPositions.get(keyTitle), keyOrder);
+            long first = search.lowerBound(reader.offset(), key);
+
+            // lecture séquentielle des lignes de même clé à partir de la première
+            List<Map<String, String>> rows = new ArrayList<>();
+            reader = new CsvReader(Channels.newInputStream(channel.position(first)), charset, separator);
+            reader.project(header.positions());
+            int keySlot = header.slotOf(keyTitle);
+            while (reader.nextRecord() && keyOrder.compare(valueOf(reader.field(keySlot)), key) == 0) {
+                rows.add(reader.toRow(header));
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * scan <br>
+     * <p>
+     * Recherche séquentielle dans un fichier compressé, qui ne peut être lu à partir d'une position
+     * quelconque : la lecture s'arrête à la première clé supérieure à la clé recherchée
+     * </p>
+     */
+    private static List<Map<String, String>> scan(Path path, String keyColumn, String key, Comparator<String> keyOrder,
+                                                  Charset charset, String separator) throws IOException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(FilesReader.openInput(path), charset, separator)) {
+            String[] titles = reader.readRecord();
+            Map<String, Integer> keyPositions = titles != null
+                    ? FilesReader.extractColumnsPositions(titles, List.of(keyColumn)) : Collections.emptyMap();
+            if (keyPositions.isEmpty()) {
+                return rows;
+            }
+            CsvHeader header = CsvHeader.of(FilesReader.extractColumnsPositions(titles, null));
+            reader.project(header.positions());
+            int keySlot = header.slotOf(keyPositions.keySet().iterator().next());
+            while (reader.nextRecord()) {
+                int comparison = keyOrder.compare(valueOf(reader.field(keySlot)), key);
+                if (comparison == 0) {
+                    rows.add(reader.toRow(header));
+                } else if (comparison > 0) {
+                    break;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * lowerBound <br>
+     *
+     * @param dataStart position de la première ligne de données
+     * @param key       valeur de la clé recherchée
+     * @return la position de la première ligne dont la clé est supérieure ou égale à la clé recherchée,
+     * la taille du fichier si aucune ne l'est
+     */
+    private long lowerBound(long dataStart, String key) {
+        // low est toujours un début de ligne, toutes les lignes commençant avant ont une clé inférieure
+        // et toutes celles commençant à partir de high une clé supérieure ou égale
+        long low = dataStart;
+        long high = size;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            long lineStart = nextLineStart(middle);
+            if (lineStart >= high) {
+                // aucune ligne ne commence entre middle et high
+                high = middle;
+                continue;
+            }
+            String value = keyAt(lineStart);
+            if (value != null && keyOrder.compare(value, key) < 0) {
+                low = recordEnd;
+            } else {
+                high = lineStart;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * nextLineStart <br>
+     *
+     * @return la position du premier début de ligne situé à partir de la position donnée, la taille
+     * du fichier si aucune ligne ne commence après la position
+     */
+    private long nextLineStart(long position) {
+        // la position est un début de ligne si l'octet précédent est un saut de ligne
+        long offset = position - 1;
+        while (offset < size) {
+            MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+            int from = (int) (offset & SEGMENT_MASK);
+            int lineFeed = ByteScanner.indexOf(segment, from, segment.limit(), LINE_FEED);
+            if (lineFeed >= 0) {
+                return offset - from + lineFeed + 1;
+            }
+            offset += segment.limit() - from;
+        }
+        return size;
+    }
+
+    /**
+     * keyAt <br>
+     * <p>
+     * Lit la clé de la ligne commençant à la position donnée, en découpant ses champs comme {@link CsvReader},
+     * et mémorise la position de fin de cette ligne
+     * </p>
+     *
+     * @return la valeur de la clé, null si seules des lignes vides suivent la position
+     */
+    private String keyAt(long lineStart) {
+        long position = skipEmptyLines(lineStart);
+        if (position >= size) {
+            recordEnd = size;
+            return null;
+        }
+        for (int fieldPosition = 0; ; fieldPosition++) {
+            keyLength = 0;
+            boolean isKey = fieldPosition == keyPosition;
+            position = position < size && byteAt(position) == QUOTE ? readQuotedField(position, isKey) : readField(position, isKey);
+            boolean endOfRecord = position >= size || byteAt(position) == LINE_FEED;
+            if (isKey || endOfRecord) {
+                // la fin de ligne suit le champ, les champs entre guillemets ne contenant pas de saut de ligne
+                recordEnd = nextLineStart(position + 1);
+                return isKey ? decoder.decode(keyBytes, 0, keyLength) : "";
+            }
+            position += separator.length;
+        }
+    }
+
+    /**
+     * readField <br>
+     *
+     * @param isKey true pour mémoriser les octets du champ
+     * @return la position du séparateur ou du saut de ligne terminant le champ, la taille du fichier en fin
+     * de fichier
+     */
+    private long readField(long position, boolean isKey) {
+        while (position < size && byteAt(position) != LINE_FEED && !matchesSeparator(position)) {
+            if (isKey) {
+                appendKeyByte(byteAt(position));
+            }
+            position++;
+        }
+        boolean endOfRecord = position >= size || byteAt(position) == LINE_FEED;
+        if (isKey && endOfRecord && keyLength > 0 && keyBytes[keyLength - 1] == CARRIAGE_RETURN) {
+            keyLength--;
+        }
+        return position;
+    }
+
+    /**
+     * readQuotedField <br>
+     * <p>
+     * Lit un champ entre guillemets, les guillemets doublés étant restitués simples et les octets entre le
+     * guillemet fermant et le séparateur ignorés
+     * </p>
+     *
+     * @param isKey true pour mémoriser les octets du champ
+     * @return la position du séparateur ou du saut de ligne terminant le champ, la taille du fichier en fin
+     * de fichier
+     */
+    private long readQuotedField(long position, boolean isKey) {
+        position++;
+        while (position < size) {
+            byte current = byteAt(position);
+            if (current == QUOTE) {
+                if (position + 1 < size && byteAt(position + 1) == QUOTE) {
+                    position++;
+                } else {
+                    position++;
+                    break;
+                }
+            }
+            if (isKey) {
+                appendKeyByte(current);
+            }
+            position++;
+        }
+        while (position < size && byteAt(position) != LINE_FEED && !matchesSeparator(position)) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * skipEmptyLines <br>
+     *
+     * @return la position du premier octet qui n'appartient pas à une ligne vide
+     */
+    private long skipEmptyLines(long position) {
+        while (position < size) {
+            if (byteAt(position) == LINE_FEED) {
+                position++;
+            } else if (byteAt(position) == CARRIAGE_RETURN && position + 1 < size && byteAt(position + 1) == LINE_FEED) {
+                position += 2;
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private boolean matchesSeparator(long position) {
+        if (position + separator.length > size) {
+            return false;
+        }
+        for (int i = 0; i < separator.length; i++) {
+            if (byteAt(position + i) != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendKeyByte(byte value) {
+        if (keyLength == keyBytes.length) {
+            keyBytes = Arrays.copyOf(keyBytes, keyLength * 2);
+        }
+        keyBytes[keyLength++] = value;
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private static String valueOf(String field) {
+        return field != null ? field : "";
+    }
+
+}
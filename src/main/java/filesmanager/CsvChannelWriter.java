@@ -0,0 +1,154 @@
+package filesmanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvChannelWriter <br>
+ * <p>
+ * Ecriture ligne à ligne de données CSV dans un canal : chaque ligne est formatée par
+ * {@link FilesWriter#appendCsvLine(StringBuilder, List, java.util.function.Function, String)} puis encodée
+ * directement dans un buffer d'octets réutilisé, vidé dans le canal à chaque fois qu'il est plein. La mémoire
+ * occupée ne dépend pas du nombre de lignes écrites
+ * </p>
+ * <p>
+ * Les lignes sont écrites comme par {@link FilesWriter#generateCsvContent(java.util.Collection, List, boolean)} :
+ * la ligne de titres éventuelle est suivie d'un saut de ligne, les lignes de données sont séparées par un
+ * saut de ligne, ce qui permet de compléter un fichier existant
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvChannelWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final String separator;
+    private final String lineBreak;
+    private final List<String> titles;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * ligne en cours de formatage, réutilisée d'une ligne à l'autre
+     */
+    private final StringBuilder line = new StringBuilder();
+    private boolean firstRow = true;
+
+    /**
+     * @param channel   canal dans lequel les lignes sont écrites, fermé à la fermeture de l'écrivain
+     * @param charset   encodage du fichier
+     * @param separator séparateur des colonnes
+     * @param lineBreak saut de ligne
+     * @param titles    titres ordonnés des colonnes écrites
+     */
+    CsvChannelWriter(WritableByteChannel channel, Charset charset, String separator, String lineBreak,
+                     List<String> titles) {
+        this.channel = channel;
+        // comme String#getBytes, les caractères non représentables sont remplacés
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.separator = separator;
+        this.lineBreak = lineBreak;
+        this.titles = List.copyOf(titles);
+    }
+
+    /**
+     * writeHeader <br>
+     * <p>
+     * Ecrit la ligne de titres si demandé, suivie du saut de ligne précédant les données. A n'appeler
+     * qu'avant la première ligne de données
+     * </p>
+     *
+     * @param writeTitles true pour écrire la ligne de titres
+     */
+    void writeHeader(boolean writeTitles) throws IOException {
+        if (writeTitles) {
+            FilesWriter.appendCsvLine(line, titles, title -> title, separator);
+        }
+        line.append(lineBreak);
+        encodeLine();
+    }
+
+    /**
+     * writeRow <br>
+     *
+     * @param row valeurs de la ligne par titre de colonne, une colonne absente étant écrite vide
+     */
+    void writeRow(Map<String, String> row) throws IOException {
+        if (!firstRow) {
+            line.append(lineBreak);
+        }
+        firstRow = false;
+        FilesWriter.appendCsvLine(line, titles, row::get, separator);
+        encodeLine();
+    }
+
+    /**
+     * flush <br>
+     * <p>
+     * Vide le buffer dans le canal
+     * </p>
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            encodeEnd();
+            flush();
+            if (channel instanceof FileChannel fileChannel) {
+                fileChannel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void encodeLine() throws IOException {
+        CharBuffer characters = CharBuffer.wrap(line);
+        encode(characters);
+        // un surrogate haut non encodé en fin de ligne est conservé pour être encodé avec les caractères
+        // suivants (ou remplacé à la fermeture), comme le ferait String#getBytes
+        line.delete(0, characters.position());
+    }
+
+    private void encode(CharBuffer characters) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(characters, buffer, false);
+            if (!result.isOverflow()) {
+                return;
+            }
+            flush();
+        }
+    }
+
+    private void encodeEnd() throws IOException {
+        CharBuffer remaining = CharBuffer.wrap(line);
+        while (encoder.encode(remaining, buffer, true).isOverflow()) {
+            flush();
+        }
+        line.setLength(0);
+        while (encoder.flush(buffer).isOverflow()) {
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package filesmanager;
+
+/**
+ * CsvColumnType <br>
+ * <p>
+ * Type des valeurs d'une colonne chargée par {@link FilesReader#readCsvFileAsColumns(String, String, java.util.Map)}
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public enum CsvColumnType {
+    /**
+     * entier chargé dans un int[]
+     */
+    INT,
+    /**
+     * entier chargé dans un long[]
+     */
+    LONG,
+    /**
+     * décimal chargé dans un double[]
+     */
+    DOUBLE,
+    /**
+     * texte chargé dans un String[]
+     */
+    STRING,
+    /**
+     * booléen ("true" sans tenir compte de la casse) chargé dans un boolean[]
+     */
+    BOOLEAN
+}
@@ -0,0 +1,192 @@
+package filesmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvColumns <br>
+ * <p>
+ * Données d'un fichier CSV chargées colonne par colonne dans des tableaux de types primitifs :
+ * la valeur de la ligne i d'une colonne est l'élément i du tableau de la colonne. Les valeurs
+ * vides ou absentes sont signalées par {@link #isNull(String, int)} et valent 0, false ou null
+ * dans les tableaux
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public class CsvColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private int size;
+    private int capacity = INITIAL_CAPACITY;
+
+    CsvColumns(Map<String, CsvColumnType> schema) {
+        schema.forEach((title, type) -> columns.put(title, new Column(type, INITIAL_CAPACITY)));
+    }
+
+    /**
+     * @return le nombre de lignes chargées
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return les titres des colonnes dans l'ordre du schéma
+     */
+    public List<String> getTitles() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    public CsvColumnType getType(String title) {
+        return column(title).type;
+    }
+
+    /**
+     * isNull <br>
+     *
+     * @param title titre de la colonne
+     * @param row   numéro de la ligne de données, à partir de 0
+     * @return true si la valeur est vide ou absente du fichier
+     */
+    public boolean isNull(String title, int row) {
+        return column(title).nulls.get(row);
+    }
+
+    public int[] getInts(String title) {
+        return (int[]) column(title, CsvColumnType.INT).values;
+    }
+
+    public long[] getLongs(String title) {
+        return (long[]) column(title, CsvColumnType.LONG).values;
+    }
+
+    public double[] getDoubles(String title) {
+        return (double[]) column(title, CsvColumnType.DOUBLE).values;
+    }
+
+    public String[] getStrings(String title) {
+        return (String[]) column(title, CsvColumnType.STRING).values;
+    }
+
+    public boolean[] getBooleans(String title) {
+        return (boolean[]) column(title, CsvColumnType.BOOLEAN).values;
+    }
+
+    /**
+     * addRow <br>
+     * <p>
+     * Ajoute une ligne dont toutes les valeurs sont nulles jusqu'à ce qu'elles soient renseignées
+     * </p>
+     *
+     * @return le numéro de la ligne ajoutée
+     */
+    int addRow() {
+        if (size == capacity) {
+            capacity = Math.max(INITIAL_CAPACITY, capacity * 2);
+            columns.values().forEach(column -> column.resize(capacity));
+        }
+        columns.values().forEach(column -> column.nulls.set(size));
+        return size++;
+    }
+
+    /**
+     * column <br>
+     *
+     * @return la colonne de ce titre, les valeurs étant renseignées par ses méthodes set
+     */
+    Column column(String title) {
+        Column column = columns.get(title);
+        if (column == null) {
+            throw new IllegalArgumentException("Colonne inconnue : " + title);
+        }
+        return column;
+    }
+
+    /**
+     * trimToSize <br>
+     * <p>
+     * Ajuste la taille des tableaux au nombre de lignes chargées, une fois le chargement terminé
+     * </p>
+     */
+    void trimToSize() {
+        capacity = size;
+        columns.values().forEach(column -> column.resize(size));
+    }
+
+    private Column column(String title, CsvColumnType type) {
+        Column column = column(title);
+        if (column.type != type) {
+            throw new IllegalArgumentException("La colonne " + title + " est de type " + column.type);
+        }
+        return column;
+    }
+
+    /**
+     * Valeurs d'une colonne et lignes pour lesquelles elles sont nulles
+     */
+    static final class Column {
+
+        private final CsvColumnType type;
+        private final BitSet nulls = new BitSet();
+        private Object values;
+
+        private Column(CsvColumnType type, int capacity) {
+            this.type = type;
+            this.values = switch (type) {
+                case INT -> new int[capacity];
+                case LONG -> new long[capacity];
+                case DOUBLE -> new double[capacity];
+                case STRING -> new String[capacity];
+                case BOOLEAN -> new boolean[capacity];
+            };
+        }
+
+        CsvColumnType type() {
+            return type;
+        }
+
+        void setInt(int row, int value) {
+            ((int[]) values)[row] = value;
+            nulls.clear(row);
+        }
+
+        void setLong(int row, long value) {
+            ((long[]) values)[row] = value;
+            nulls.clear(row);
+        }
+
+        void setDouble(int row, double value) {
+            ((double[]) values)[row] = value;
+            nulls.clear(row);
+        }
+
+        void setString(int row, String value) {
+            ((String[]) values)[row] = value;
+            nulls.clear(row);
+        }
+
+        void setBoolean(int row, boolean value) {
+            ((boolean[]) values)[row] = value;
+            nulls.clear(row);
+        }
+
+        private void resize(int capacity) {
+            values = switch (type) {
+                case INT -> Arrays.copyOf((int[]) values, capacity);
+                case LONG -> Arrays.copyOf((long[]) values, capacity);
+                case DOUBLE -> Arrays.copyOf((double[]) values, capacity);
+                case STRING -> Arrays.copyOf((String[]) values, capacity);
+                case BOOLEAN -> Arrays.copyOf((boolean[]) values, capacity);
+            };
+        }
+    }
+
+}
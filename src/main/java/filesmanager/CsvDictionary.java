@@ -0,0 +1,163 @@
+package filesmanager;
+
+import java.util.Arrays;
+
+/**
+ * CsvDictionary <br>
+ * <p>
+ * Dictionnaire des valeurs des colonnes lues lors d'un chargement : chaque colonne projetée mémorise ses
+ * valeurs distinctes, repérées par leurs octets, et une valeur déjà rencontrée est restituée sous la forme
+ * de son unique instance, sans être décodée de nouveau. Les colonnes à faible cardinalité (statut, pays,
+ * devise...) ne coûtent ainsi qu'une référence par ligne au lieu d'une chaine de caractères
+ * </p>
+ * <p>
+ * Une colonne dépassant le nombre maximal de valeurs distinctes abandonne son dictionnaire et ses
+ * valeurs sont de nouveau décodées une à une. Un dictionnaire ne doit être utilisé que par un seul découpeur
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvDictionary {
+
+    private final int maxSize;
+    /**
+     * dictionnaire de chaque emplacement de la projection, créé à la première valeur
+     */
+    private Column[] columns = new Column[0];
+
+    /**
+     * @param maxSize nombre maximal de valeurs distinctes d'une colonne
+     */
+    CsvDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * get <br>
+     *
+     * @param slot  emplacement de la colonne dans la projection
+     * @param hash  empreinte des octets de la valeur
+     * @param bytes tableau d'octets
+     * @param from  position du premier octet de la valeur (inclus)
+     * @param to    position suivant le dernier octet de la valeur
+     * @return l'instance de la valeur, null si la valeur n'a pas encore été rencontrée ou si la colonne
+     * n'est plus encodée
+     */
+    String get(int slot, long hash, byte[] bytes, int from, int to) {
+        Column column = column(slot);
+        return column != null ? column.get(hash, bytes, from, to) : null;
+    }
+
+    /**
+     * put <br>
+     * <p>
+     * Mémorise l'instance d'une valeur qui n'a pas encore été rencontrée
+     * </p>
+     *
+     * @param slot  emplacement de la colonne dans la projection
+     * @param hash  empreinte des octets de la valeur
+     * @param bytes tableau d'octets
+     * @param from  position du premier octet de la valeur (inclus)
+     * @param to    position suivant le dernier octet de la valeur
+     * @param value valeur décodée
+     */
+    void put(int slot, long hash, byte[] bytes, int from, int to, String value) {
+        Column column = column(slot);
+        if (column != null && !column.put(hash, Arrays.copyOfRange(bytes, from, to), value)) {
+            // cardinalité trop élevée, la colonne n'est plus encodée
+            columns[slot] = Column.DISABLED;
+        }
+    }
+
+    /**
+     * @return true si les valeurs de la colonne sont encore recherchées dans le dictionnaire
+     */
+    boolean isEncoded(int slot) {
+        return slot >= columns.length || columns[slot] != Column.DISABLED;
+    }
+
+    private Column column(int slot) {
+        if (slot >= columns.length) {
+            columns = Arrays.copyOf(columns, slot + 1);
+        }
+        if (columns[slot] == null) {
+            columns[slot] = new Column(maxSize);
+        }
+        return columns[slot] != Column.DISABLED ? columns[slot] : null;
+    }
+
+    /**
+     * Column <br>
+     * <p>
+     * Table à adressage ouvert des valeurs distinctes d'une colonne
+     * </p>
+     */
+    private static final class Column {
+
+        /**
+         * marque d'une colonne dont la cardinalité a dépassé le nombre maximal de valeurs distinctes
+         */
+        private static final Column DISABLED = new Column(0);
+
+        private final int maxSize;
+        private long[] hashes = new long[16];
+        private byte[][] keys = new byte[16][];
+        private String[] values = new String[16];
+        private int size;
+
+        Column(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        String get(long hash, byte[] bytes, int from, int to) {
+            int mask = keys.length - 1;
+            for (int index = (int) hash & mask; keys[index] != null; index = (index + 1) & mask) {
+                if (hashes[index] == hash && Arrays.equals(keys[index], 0, keys[index].length, bytes, from, to)) {
+                    return values[index];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return false si le nombre maximal de valeurs distinctes est dépassé
+         */
+        boolean put(long hash, byte[] key, String value) {
+            if (size == maxSize) {
+                return false;
+            }
+            if (++size * 10 > keys.length * 7) {
+                grow();
+            }
+            insert(hash, key, value);
+            return true;
+        }
+
+        private void insert(long hash, byte[] key, String value) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            hashes[index] = hash;
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        private void grow() {
+            long[] previousHashes = hashes;
+            byte[][] previousKeys = keys;
+            String[] previousValues = values;
+            hashes = new long[previousKeys.length * 2];
+            keys = new byte[previousKeys.length * 2][];
+            values = new String[previousKeys.length * 2];
+            for (int i = 0; i < previousKeys.length; i++) {
+                if (previousKeys[i] != null) {
+                    insert(previousHashes[i], previousKeys[i], previousValues[i]);
+                }
+            }
+        }
+    }
+
+}
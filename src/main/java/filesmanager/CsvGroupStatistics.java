@@ -0,0 +1,170 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CsvGroupStatistics <br>
+ * <p>
+ * Statistiques d'un groupe de lignes d'un fichier CSV partageant les mêmes valeurs de colonnes clés :
+ * nombre de lignes, puis pour chaque colonne de valeurs numériques, nombre de valeurs renseignées,
+ * somme, minimum, maximum et moyenne
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public class CsvGroupStatistics {
+
+    private final List<String> valueColumns;
+    private long count;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+
+    CsvGroupStatistics(List<String> valueColumns) {
+        this.valueColumns = valueColumns;
+        this.counts = new long[valueColumns.size()];
+        this.sums = new double[valueColumns.size()];
+        this.mins = new double[valueColumns.size()];
+        this.maxs = new double[valueColumns.size()];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * @return le nombre de lignes du groupe
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @param valueColumn titre de la colonne de valeurs
+     * @return le nombre de valeurs renseignées de la colonne dans le groupe
+     */
+    public long getCount(String valueColumn) {
+        return counts[index(valueColumn)];
+    }
+
+    public double getSum(String valueColumn) {
+        return sums[index(valueColumn)];
+    }
+
+    /**
+     * @return la plus petite valeur de la colonne, NaN si aucune valeur n'est renseignée
+     */
+    public double getMin(String valueColumn) {
+        int index = index(valueColumn);
+        return counts[index] > 0 ? mins[index] : Double.NaN;
+    }
+
+    /**
+     * @return la plus grande valeur de la colonne, NaN si aucune valeur n'est renseignée
+     */
+    public double getMax(String valueColumn) {
+        int index = index(valueColumn);
+        return counts[index] > 0 ? maxs[index] : Double.NaN;
+    }
+
+    /**
+     * @return la moyenne des valeurs renseignées de la colonne, NaN si aucune valeur n'est renseignée
+     */
+    public double getAverage(String valueColumn) {
+        int index = index(valueColumn);
+        return counts[index] > 0 ? sums[index] / counts[index] : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("{count=").append(count);
+        for (String valueColumn : valueColumns) {
+            description.append(", ").append(valueColumn).append("={sum=").append(getSum(valueColumn))
+                    .append(", min=").append(getMin(valueColumn)).append(", max=").append(getMax(valueColumn))
+                    .append(", average=").append(getAverage(valueColumn)).append('}');
+        }
+        return description.append('}').toString();
+    }
+
+    /**
+     * aggregate <br>
+     * <p>
+     * Regroupe en une seule passe les lignes lues par valeurs des colonnes clés et calcule les
+     * statistiques de chaque groupe ; seuls les groupes sont conservés en mémoire
+     * </p>
+     *
+     * @param reader       découpeur positionné sur la première ligne de données
+     * @param header       index des colonnes extraites
+     * @param keyColumns   titres des colonnes clés (valeur vide si la colonne est absente)
+     * @param valueColumns titres des colonnes de valeurs numériques
+     * @return les statistiques de chaque groupe, par valeurs des colonnes clés, dans l'ordre d'apparition
+     * @throws NumberFormatException si une valeur n'est pas numérique
+     */
+    static Map<List<String>, CsvGroupStatistics> aggregate(CsvReader reader, CsvHeader header, List<String> keyColumns,
+                                                            List<String> valueColumns) throws IOException {
+        int[] keySlots = keyColumns.stream().mapToInt(header::slotOf).toArray();
+        int[] valueSlots = valueColumns.stream().mapToInt(header::slotOf).toArray();
+
+        Map<List<String>, CsvGroupStatistics> groups = new LinkedHashMap<>();
+        while (reader.nextRecord()) {
+            String[] key = new String[keySlots.length];
+            for (int i = 0; i < keySlots.length; i++) {
+                String value = keySlots[i] >= 0 ? reader.field(keySlots[i]) : null;
+                key[i] = value != null ? value : "";
+            }
+            CsvGroupStatistics statistics = groups.computeIfAbsent(List.of(key),
+                    groupKey -> new CsvGroupStatistics(valueColumns));
+            statistics.count++;
+            for (int i = 0; i < valueSlots.length; i++) {
+                if (valueSlots[i] >= 0 && !reader.isEmpty(valueSlots[i])) {
+                    statistics.add(i, Double.parseDouble(reader.field(valueSlots[i])));
+                }
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * merge <br>
+     * <p>
+     * Fusionne des statistiques partielles (d'une autre plage ou d'un autre fichier) dans les statistiques globales
+     * </p>
+     *
+     * @param groups  statistiques globales, complétées
+     * @param partial statistiques partielles
+     */
+    static void merge(Map<List<String>, CsvGroupStatistics> groups, Map<List<String>, CsvGroupStatistics> partial) {
+        partial.forEach((key, statistics) -> groups.merge(key, statistics, CsvGroupStatistics::combine));
+    }
+
+    private void add(int index, double value) {
+        counts[index]++;
+        sums[index] += value;
+        mins[index] = Math.min(mins[index], value);
+        maxs[index] = Math.max(maxs[index], value);
+    }
+
+    private CsvGroupStatistics combine(CsvGroupStatistics other) {
+        count += other.count;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+            sums[i] += other.sums[i];
+            mins[i] = Math.min(mins[i], other.mins[i]);
+            maxs[i] = Math.max(maxs[i], other.maxs[i]);
+        }
+        return this;
+    }
+
+    private int index(String valueColumn) {
+        int index = valueColumns.indexOf(valueColumn);
+        if (index < 0) {
+            throw new IllegalArgumentException("Colonne non agrégée : " + valueColumn);
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,91 @@
+package filesmanager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CsvHeader <br>
+ * <p>
+ * Index immuable des colonnes extraites d'un fichier CSV, construit une seule fois à partir
+ * de la ligne de titres et partagé par toutes les lignes {@link CsvRow} du fichier
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvHeader {
+
+    /**
+     * titres des colonnes extraites, dans l'ordre de restitution
+     */
+    private final String[] titles;
+    /**
+     * position de chaque colonne extraite dans une ligne du fichier CSV
+     */
+    private final int[] positions;
+    /**
+     * emplacement de la valeur de chaque colonne dans une ligne {@link CsvRow}
+     */
+    private final Map<String, Integer> slots;
+
+    private CsvHeader(String[] titles, int[] positions, Map<String, Integer> slots) {
+        this.titles = titles;
+        this.positions = positions;
+        this.slots = slots;
+    }
+
+    /**
+     * of <br>
+     * <p>
+     * Construit l'index à partir de la map associant le titre des colonnes et leur position
+     * </p>
+     *
+     * @param columnsPositions map associant le titre des colonnes et leur position, dans l'ordre de restitution
+     * @return l'index des colonnes
+     */
+    static CsvHeader of(Map<String, Integer> columnsPositions) {
+        String[] titles = new String[columnsPositions.size()];
+        int[] positions = new int[columnsPositions.size()];
+        Map<String, Integer> slots = new HashMap<>();
+        int slot = 0;
+        for (Map.Entry<String, Integer> entry : columnsPositions.entrySet()) {
+            titles[slot] = entry.getKey();
+            positions[slot] = entry.getValue();
+            slots.put(entry.getKey(), slot);
+            slot++;
+        }
+        return new CsvHeader(titles, positions, Collections.unmodifiableMap(slots));
+    }
+
+    int size() {
+        return titles.length;
+    }
+
+    String title(int slot) {
+        return titles[slot];
+    }
+
+    int position(int slot) {
+        return positions[slot];
+    }
+
+    /**
+     * @return les positions des colonnes extraites, dans l'ordre des emplacements
+     */
+    int[] positions() {
+        return positions.clone();
+    }
+
+    /**
+     * slotOf <br>
+     *
+     * @param title titre de la colonne
+     * @return l'emplacement de la colonne dans une ligne, -1 si la colonne n'est pas extraite
+     */
+    int slotOf(Object title) {
+        Integer slot = slots.get(title);
+        return slot != null ? slot : -1;
+    }
+
+}
@@ -0,0 +1,573 @@
+package filesmanager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * CsvIndex <br>
+ * <p>
+ * Index d'un fichier CSV enregistré à côté de celui-ci (fichier .idx) : il associe à chaque ligne de
+ * données sa position dans le fichier et, si une colonne clé est indiquée, à chaque clé les lignes qui la
+ * contiennent. Une ligne ou une clé est ensuite restituée par une seule lecture positionnée du fichier,
+ * sans relire ce qui la précède
+ * </p>
+ * <div>
+ * <ul>
+ * <li>les clés sont indexées par empreinte, triées, et vérifiées à la lecture des lignes candidates</li>
+ * <li>l'index mémorise la taille et la date de modification du fichier : il est reconstruit dès que
+ * l'une d'elles change, à l'ouverture comme à chaque recherche</li>
+ * <li>un fichier n'a qu'un index : l'ouvrir avec une autre colonne clé, un autre encodage ou un autre
+ * séparateur le reconstruit</li>
+ * <li>l'index n'est pas chargé en mémoire : chaque recherche lit les positions et les empreintes dont elle a
+ * besoin par lectures positionnées du fichier .idx, les empreintes étant recherchées par dichotomie. Sa
+ * construction l'écrit au fil de la lecture du fichier, les empreintes étant triées par séries de taille
+ * bornée puis fusionnées</li>
+ * </ul>
+ * </div>
+ * <p>
+ * Une instance ne doit pas être utilisée simultanément depuis plusieurs threads
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class CsvIndex {
+
+    /**
+     * extension ajoutée au nom du fichier CSV pour nommer son index
+     */
+    public static final String INDEX_EXTENSION = ".idx";
+
+    private static final int MAGIC = 0x43494458;
+    private static final int VERSION = 2;
+    /**
+     * taille du bloc de fin de l'index : nombre de lignes puis nombre d'empreintes
+     */
+    private static final int TRAILER_SIZE = 2 * Long.BYTES;
+    /**
+     * masque des bits de poids faible d'une entrée de l'index des clés, contenant le numéro de ligne
+     */
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+
+    private final Path file;
+    private final Path indexFile;
+    private final String keyColumn;
+    private final Charset charset;
+    private final String separator;
+
+    private long sourceSize;
+    private long sourceModified;
+    private CsvHeader header;
+    private int keySlot;
+    private int rowsCount;
+    /**
+     * position dans l'index de la position de début de chaque ligne de données, suivie de la position de fin
+     * des données. Les entrées de l'index des clés suivent, triées : 32 bits de poids fort de l'empreinte de
+     * la clé suivis du numéro de ligne
+     */
+    private long offsetsStart;
+
+    private CsvIndex(Path file, String keyColumn) {
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName() + INDEX_EXTENSION);
+        this.keyColumn = keyColumn;
+        this.charset = FilesReader.getEncoding();
+        this.separator = FilesReader.getCsvSeparator();
+    }
+
+    /**
+     * open <br>
+     * <p>
+     * Ouvre l'index d'un fichier CSV, en le construisant s'il n'existe pas ou n'est plus à jour
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @param keyColumn    titre de la colonne clé, null si seules les lignes sont indexées
+     * @return l'index du fichier, null si le fichier n'a pas pu être lu, est compressé ou ne contient pas la
+     * colonne clé
+     */
+    public static CsvIndex open(String absolutePath, String fileName, String keyColumn) {
+        CsvIndex index = new CsvIndex(Paths.get(absolutePath, fileName), keyColumn);
+        try {
+            if (!index.load()) {
+                index.build();
+            }
+            return index;
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * size <br>
+     *
+     * @return le nombre de lignes de données du fichier
+     */
+    public int size() {
+        refreshIfStale();
+        return rowsCount;
+    }
+
+    /**
+     * readRow <br>
+     * <p>
+     * Lit une ligne de données du fichier
+     * </p>
+     *
+     * @param rowNumber numéro de la ligne de données, à partir de 0 (ligne de titres exclue)
+     * @return les données de chaque colonne sous forme de Map titre-valeur, null en cas d'erreur de lecture
+     * @throws IndexOutOfBoundsException si le fichier ne contient pas la ligne
+     */
+    public Map<String, String> readRow(int rowNumber) {
+        refreshIfStale();
+        if (rowNumber < 0 || rowNumber >= rowsCount) {
+            throw new IndexOutOfBoundsException("Ligne " + rowNumber + " absente, le fichier en contient " + rowsCount);
+        }
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvReader reader = readRecord(index, channel, rowNumber);
+            return reader != null ? reader.toRow(header) : null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * findRows <br>
+     * <p>
+     * Recherche les lignes de données dont la colonne clé a la valeur donnée
+     * </p>
+     *
+     * @param key valeur de la colonne clé
+     * @return les lignes trouvées sous forme de Map titre-valeur, dans l'ordre du fichier
+     * @throws IllegalStateException si l'index a été ouvert sans colonne clé
+     */
+    public List<Map<String, String>> findRows(String key) {
+        refreshIfStale();
+        if (keyColumn == null) {
+            throw new IllegalStateException("Index ouvert sans colonne clé : " + indexFile);
+        }
+        long prefix = Hashes.hash(key) & ~ROW_MASK;
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long keysStart = offsetsStart + (rowsCount + 1L) * Long.BYTES;
+            ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+            for (int candidate = lowerBound(index, keysStart, prefix); candidate < rowsCount; candidate++) {
+                long keyEntry = readLong(index, keysStart + (long) candidate * Long.BYTES, entry);
+                if ((keyEntry & ~ROW_MASK) != prefix) {
+                    break;
+                }
+                CsvReader reader = readRecord(index, channel, (int) (keyEntry & ROW_MASK));
+                // deux clés différentes peuvent partager la même empreinte
+                if (reader != null && key.equals(reader.field(keySlot))) {
+                    rows.add(reader.toRow(header));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return rows;
+    }
+
+    /**
+     * readRecord <br>
+     * <p>
+     * Lit les positions de début et de fin d'une ligne de données dans l'index, puis les octets de la ligne en
+     * une seule lecture positionnée et les découpe
+     * </p>
+     *
+     * @return le découpeur positionné sur la ligne, null si la ligne est vide
+     */
+    private CsvReader readRecord(FileChannel index, FileChannel channel, int rowNumber) throws IOException {
+        ByteBuffer bounds = ByteBuffer.allocate(2 * Long.BYTES);
+        readFully(index, bounds, offsetsStart + (long) rowNumber * Long.BYTES);
+        long start = bounds.getLong(0);
+        ByteBuffer bytes = ByteBuffer.allocate((int) (bounds.getLong(Long.BYTES) - start));
+        while (bytes.hasRemaining() && channel.read(bytes, start + bytes.position()) > 0) {
+            // lecture de la ligne
+        }
+        CsvReader reader = new CsvReader(new ByteArrayInputStream(bytes.array(), 0, bytes.position()), charset, separator);
+        reader.project(header.positions());
+        return reader.nextRecord() ? reader : null;
+    }
+
+    /**
+     * refreshIfStale <br>
+     * <p>
+     * Reconstruit l'index si la taille ou la date de modification du fichier ont changé depuis sa construction
+     * </p>
+     */
+    private void refreshIfStale() {
+        try {
+            if (Files.size(file) != sourceSize || Files.getLastModifiedTime(file).toMillis() != sourceModified) {
+                build();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * readTitles <br>
+     * <p>
+     * Lit la ligne de titres du fichier et détermine l'index des colonnes et l'emplacement de la colonne clé
+     * </p>
+     *
+     * @return le découpeur positionné après la ligne de titres
+     * @throws IllegalArgumentException si le fichier est vide, compressé ou ne contient pas la colonne clé
+     */
+    private CsvReader readTitles() throws IOException {
+        if (FilesReader.isCompressed(file)) {
+            throw new IllegalArgumentException("Les positions d'un fichier compressé ne peuvent être indexées : " + file);
+        }
+        CsvReader reader = new CsvReader(Files.newInputStream(file), charset, separator);
+        try {
+            String[] titles = reader.readRecord();
+            if (titles == null) {
+                throw new IllegalArgumentException("Fichier vide : " + file);
+            }
+            header = CsvHeader.of(FilesReader.extractColumnsPositions(titles, null));
+            keySlot = -1;
+            if (keyColumn != null) {
+                Map<String, Integer> keyPosition = FilesReader.extractColumnsPositions(titles, List.of(keyColumn));
+                if (keyPosition.isEmpty()) {
+                    throw new IllegalArgumentException("Colonne " + keyColumn + " absente du fichier " + file);
+                }
+                keySlot = header.slotOf(keyPosition.keySet().iterator().next());
+            }
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * build <br>
+     * <p>
+     * Parcourt le fichier en écrivant au fil de l'eau la position de chaque ligne dans un fichier temporaire,
+     * puis y ajoute les empreintes des clés triées, et le substitue à l'index existant
+     * </p>
+     */
+    private void build() throws IOException {
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        Path directory = indexFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+        Path keysFile = keyColumn != null ? Files.createTempFile(directory, indexFile.getFileName().toString(), ".keys") : null;
+        int count = 0;
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)));
+                 KeyRuns keyRuns = keysFile != null ? new KeyRuns(keysFile) : null;
+                 CsvReader reader = readTitles()) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(size);
+                output.writeLong(modified);
+                output.writeUTF(keyColumn != null ? keyColumn : "");
+                output.writeUTF(charset.name());
+                output.writeUTF(separator);
+
+                reader.project(keySlot >= 0 ? new int[] { header.position(keySlot) } : new int[0]);
+                long end = reader.offset();
+                while (reader.nextRecord()) {
+                    if (count == Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Trop de lignes à indexer : " + file);
+                    }
+                    output.writeLong(reader.recordOffset());
+                    if (keyRuns != null) {
+                        String key = reader.field(0);
+                        keyRuns.add((Hashes.hash(key != null ? key : "") & ~ROW_MASK) | count);
+                    }
+                    count++;
+                    end = reader.offset();
+                }
+                output.writeLong(end);
+                long keysCount = keyRuns != null ? keyRuns.writeSorted(output) : 0;
+                output.writeLong(count);
+                output.writeLong(keysCount);
+            }
+            Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+            if (keysFile != null) {
+                Files.deleteIfExists(keysFile);
+            }
+        }
+        sourceSize = size;
+        sourceModified = modified;
+        rowsCount = count;
+        offsetsStart = Files.size(indexFile) - TRAILER_SIZE - (keyColumn != null ? count : 0) * (long) Long.BYTES
+                - (count + 1L) * Long.BYTES;
+    }
+
+    /**
+     * load <br>
+     * <p>
+     * Vérifie que l'index enregistré correspond à l'état actuel du fichier et aux paramètres de lecture, et
+     * lit sa taille
+     * </p>
+     *
+     * @return false si l'index est absent ou doit être reconstruit
+     */
+    private boolean load() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION
+                    || input.readLong() != Files.size(file)
+                    || input.readLong() != Files.getLastModifiedTime(file).toMillis()
+                    || !input.readUTF().equals(keyColumn != null ? keyColumn : "")
+                    || !input.readUTF().equals(charset.name())
+                    || !input.readUTF().equals(separator)) {
+                return false;
+            }
+        } catch (EOFException e) {
+            // index tronqué
+            return false;
+        }
+
+        long storedRowsCount;
+        long storedKeysCount;
+        long indexSize;
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            indexSize = index.size();
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            readFully(index, trailer, indexSize - TRAILER_SIZE);
+            storedRowsCount = trailer.getLong(0);
+            storedKeysCount = trailer.getLong(Long.BYTES);
+        } catch (EOFException e) {
+            return false;
+        }
+        long storedOffsetsStart = indexSize - TRAILER_SIZE - storedKeysCount * Long.BYTES - (storedRowsCount + 1) * Long.BYTES;
+        if (storedRowsCount < 0 || storedRowsCount > Integer.MAX_VALUE
+                || storedKeysCount != (keyColumn != null ? storedRowsCount : 0) || storedOffsetsStart <= 0) {
+            return false;
+        }
+
+        readTitles().close();
+        sourceSize = Files.size(file);
+        sourceModified = Files.getLastModifiedTime(file).toMillis();
+        rowsCount = (int) storedRowsCount;
+        offsetsStart = storedOffsetsStart;
+        return true;
+    }
+
+    /**
+     * lowerBound <br>
+     *
+     * @param index     canal de lecture de l'index
+     * @param keysStart position de la première entrée de l'index des clés
+     * @param value     valeur recherchée
+     * @return le rang de la première entrée de l'index des clés supérieure ou égale à la valeur donnée
+     */
+    private int lowerBound(FileChannel index, long keysStart, long value) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(Long.BYTES);
+        int low = 0;
+        int high = rowsCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (readLong(index, keysStart + (long) middle * Long.BYTES, entry) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long readLong(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        readFully(channel, buffer, position);
+        return buffer.getLong(0);
+    }
+
+    /**
+     * readFully <br>
+     * <p>
+     * Remplit le buffer par lectures positionnées à partir de la position donnée
+     * </p>
+     *
+     * @throws EOFException si le canal se termine avant que le buffer soit rempli
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        if (position < 0) {
+            throw new EOFException();
+        }
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * KeyRuns <br>
+     * <p>
+     * Tri à mémoire bornée des entrées de l'index des clés : les entrées sont triées par séries de
+     * {@link #RUN_SIZE} dans un fichier temporaire, puis fusionnées au moment de leur écriture dans l'index.
+     * Toutes les séries partagent le même fichier, lu par lectures positionnées
+     * </p>
+     */
+    private static final class KeyRuns implements Closeable {
+
+        /**
+         * nombre d'entrées triées en mémoire par série (8 Mo)
+         */
+        private static final int RUN_SIZE = 1 << 20;
+        /**
+         * taille du buffer de lecture de chaque série lors de la fusion
+         */
+        private static final int MERGE_BUFFER_SIZE = 8 * 1024;
+
+        private final FileChannel channel;
+        private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+        private final List<long[]> runs = new ArrayList<>();
+        private long[] entries = new long[1024];
+        private int count;
+        private long runsEnd;
+
+        private KeyRuns(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void add(long entry) throws IOException {
+            if (count == entries.length) {
+                if (count == RUN_SIZE) {
+                    spill();
+                } else {
+                    entries = Arrays.copyOf(entries, Math.min(entries.length * 2, RUN_SIZE));
+                }
+            }
+            entries[count++] = entry;
+        }
+
+        /**
+         * writeSorted <br>
+         *
+         * @param output flux d'écriture de l'index
+         * @return le nombre d'entrées écrites
+         */
+        long writeSorted(DataOutputStream output) throws IOException {
+            if (runs.isEmpty()) {
+                Arrays.parallelSort(entries, 0, count);
+                for (int i = 0; i < count; i++) {
+                    output.writeLong(entries[i]);
+                }
+                return count;
+            }
+            spill();
+            entries = null;
+
+            long written = 0;
+            PriorityQueue<RunCursor> cursors = new PriorityQueue<>(runs.size(), Comparator.comparingLong(cursor -> cursor.value));
+            for (long[] run : runs) {
+                RunCursor cursor = new RunCursor(run[0], run[1]);
+                if (cursor.advance(channel)) {
+                    cursors.add(cursor);
+                }
+            }
+            while (!cursors.isEmpty()) {
+                RunCursor cursor = cursors.poll();
+                output.writeLong(cursor.value);
+                written++;
+                if (cursor.advance(channel)) {
+                    cursors.add(cursor);
+                }
+            }
+            return written;
+        }
+
+        /**
+         * spill <br>
+         * <p>
+         * Trie les entrées en mémoire et les écrit à la suite des séries précédentes
+         * </p>
+         */
+        private void spill() throws IOException {
+            Arrays.parallelSort(entries, 0, count);
+            long start = runsEnd;
+            for (int i = 0; i < count; i++) {
+                if (!writeBuffer.hasRemaining()) {
+                    flush();
+                }
+                writeBuffer.putLong(entries[i]);
+            }
+            flush();
+            runs.add(new long[] { start, runsEnd });
+            count = 0;
+        }
+
+        private void flush() throws IOException {
+            writeBuffer.flip();
+            while (writeBuffer.hasRemaining()) {
+                runsEnd += channel.write(writeBuffer, runsEnd);
+            }
+            writeBuffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Position de lecture dans une série d'entrées triées
+     */
+    private static final class RunCursor {
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(KeyRuns.MERGE_BUFFER_SIZE).limit(0);
+        private long position;
+        private final long end;
+        private long value;
+
+        private RunCursor(long start, long end) {
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * @return false si la série est épuisée
+         */
+        private boolean advance(FileChannel channel) throws IOException {
+            if (!buffer.hasRemaining()) {
+                if (position >= end) {
+                    return false;
+                }
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                readFully(channel, buffer, position);
+                position += buffer.limit();
+                buffer.flip();
+            }
+            value = buffer.getLong();
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,313 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * CsvJoin <br>
+ * <p>
+ * Jointure de deux fichiers CSV sur une colonne commune (hash join) : les lignes du plus petit des deux
+ * fichiers sont chargées dans une table indexée par clé, puis les lignes de l'autre fichier sont lues
+ * au fil de l'eau et associées aux lignes de même clé
+ * </p>
+ * <p>
+ * Si le plus petit fichier compte plus de {@link #setMaxRowsInMemory(int) maxRowsInMemory} lignes, les deux
+ * fichiers sont répartis par empreinte de clé dans des fichiers temporaires (grace hash join), puis joints
+ * partition par partition : seule une partition du plus petit fichier est alors chargée à la fois
+ * </p>
+ * <div> Les lignes restituées :
+ * <ul>
+ * <li>contiennent les colonnes du fichier de gauche puis celles du fichier de droite, une colonne présente
+ * dans les deux fichiers prenant la valeur du fichier de gauche</li>
+ * <li>ont une valeur (éventuellement vide) pour chaque colonne, et peuvent donc être écrites telles quelles
+ * par {@link FilesWriter#writeCsvFile(String, String, java.util.Collection, java.nio.file.OpenOption)}</li>
+ * <li>ne suivent pas nécessairement l'ordre des fichiers</li>
+ * </ul>
+ * </div>
+ * <p>
+ * Une clé absente d'une ligne est considérée vide
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class CsvJoin {
+
+    private static int MAX_ROWS_IN_MEMORY = 1_000_000;
+    private static int PARTITIONS_COUNT = 64;
+
+    private final CsvJoinType joinType;
+    private final boolean buildLeft;
+    private final CsvHeader header;
+    private final List<String> buildTitles;
+    private final List<String> probeTitles;
+    private final int buildKey;
+    private final int probeKey;
+    /**
+     * emplacement dans une ligne jointe de chaque colonne du fichier de gauche
+     */
+    private final int[] leftSlots;
+    /**
+     * emplacement dans une ligne jointe de chaque colonne du fichier de droite, -1 si la colonne est
+     * aussi présente dans le fichier de gauche
+     */
+    private final int[] rightSlots;
+
+    private CsvJoin(List<String> leftTitles, List<String> rightTitles, String keyColumn, CsvJoinType joinType,
+                    boolean buildLeft) {
+        this.joinType = joinType;
+        this.buildLeft = buildLeft;
+        this.buildTitles = buildLeft ? leftTitles : rightTitles;
+        this.probeTitles = buildLeft ? rightTitles : leftTitles;
+        this.buildKey = buildTitles.indexOf(keyColumn);
+        this.probeKey = probeTitles.indexOf(keyColumn);
+
+        Map<String, Integer> columnsPositions = new LinkedHashMap<>();
+        leftSlots = new int[leftTitles.size()];
+        for (int i = 0; i < leftSlots.length; i++) {
+            leftSlots[i] = columnsPositions.size();
+            columnsPositions.put(leftTitles.get(i), leftSlots[i]);
+        }
+        rightSlots = new int[rightTitles.size()];
+        for (int i = 0; i < rightSlots.length; i++) {
+            rightSlots[i] = columnsPositions.containsKey(rightTitles.get(i)) ? -1 : columnsPositions.size();
+            if (rightSlots[i] >= 0) {
+                columnsPositions.put(rightTitles.get(i), rightSlots[i]);
+            }
+        }
+        this.header = CsvHeader.of(columnsPositions);
+    }
+
+    /**
+     * setMaxRowsInMemory <br>
+     * <p>
+     * Définit le nombre maximal de lignes chargées dans la table de jointure, au-delà duquel les fichiers
+     * sont partitionnés sur disque
+     * </p>
+     *
+     * @param maxRowsInMemory nombre maximal de lignes en mémoire
+     */
+    public static void setMaxRowsInMemory(int maxRowsInMemory) {
+        MAX_ROWS_IN_MEMORY = maxRowsInMemory;
+    }
+
+    /**
+     * setPartitionsCount <br>
+     * <p>
+     * Définit le nombre de partitions des fichiers lorsque la table de jointure dépasse la mémoire allouée.
+     * Chaque partition du plus petit fichier doit tenir en mémoire
+     * </p>
+     *
+     * @param partitionsCount nombre de partitions
+     */
+    public static void setPartitionsCount(int partitionsCount) {
+        PARTITIONS_COUNT = partitionsCount;
+    }
+
+    /**
+     * joinCsvFiles <br>
+     * <p>
+     * Joint les lignes de deux fichiers CSV ayant la même valeur dans la colonne clé. Les fichiers temporaires
+     * éventuels sont supprimés à la fermeture du flux, qui doit donc être utilisé dans un try-with-resources
+     * </p>
+     *
+     * @param absolutePath  adresse des fichiers
+     * @param leftFileName  nom du fichier de gauche
+     * @param rightFileName nom du fichier de droite
+     * @param keyColumn     titre de la colonne clé, présente dans les deux fichiers
+     * @param joinType      type de jointure
+     * @return le flux des lignes jointes sous forme de Map titre-valeur, vide si l'un des fichiers ne peut être
+     * lu ou ne contient pas la colonne clé
+     */
+    public static Stream<Map<String, String>> joinCsvFiles(String absolutePath, String leftFileName, String rightFileName,
+                                                           String keyColumn, CsvJoinType joinType) {
+        Path temporaryDirectory = null;
+        try {
+            List<String> leftTitles = FilesReader.readCsvTitles(absolutePath, leftFileName);
+            List<String> rightTitles = FilesReader.readCsvTitles(absolutePath, rightFileName);
+            if (!leftTitles.contains(keyColumn) || !rightTitles.contains(keyColumn)) {
+                return Stream.empty();
+            }
+            boolean buildLeft = Files.size(Paths.get(absolutePath, leftFileName)) < Files.size(Paths.get(absolutePath, rightFileName));
+            CsvJoin join = new CsvJoin(leftTitles, rightTitles, keyColumn, joinType, buildLeft);
+            String buildFileName = buildLeft ? leftFileName : rightFileName;
+            String probeFileName = buildLeft ? rightFileName : leftFileName;
+
+            // chargement de la table de jointure, interrompu par le partitionnement si elle dépasse la mémoire allouée
+            Map<String, List<BuildRow>> table = new HashMap<>();
+            SpillFile.Partitions buildPartitions = null;
+            int count = 0;
+            try (Stream<Map<String, String>> rows = FilesReader.streamCsvFile(absolutePath, buildFileName, null)) {
+                for (Map<String, String> row : (Iterable<Map<String, String>>) rows::iterator) {
+                    String[] values = valuesOf(row, join.buildTitles);
+                    if (buildPartitions != null) {
+                        buildPartitions.write(partitionOf(values, join.buildKey, buildPartitions.count()), values);
+                    } else if (++count <= MAX_ROWS_IN_MEMORY) {
+                        table.computeIfAbsent(keyOf(values, join.buildKey), key -> new ArrayList<>(1)).add(new BuildRow(values));
+                    } else {
+                        temporaryDirectory = Files.createTempDirectory(Paths.get(absolutePath), "join");
+                        buildPartitions = new SpillFile.Partitions(temporaryDirectory, "build", PARTITIONS_COUNT);
+                        for (List<BuildRow> buildRows : table.values()) {
+                            for (BuildRow buildRow : buildRows) {
+                                buildPartitions.write(partitionOf(buildRow.values, join.buildKey, buildPartitions.count()),
+                                        buildRow.values);
+                            }
+                        }
+                        table = null;
+                        buildPartitions.write(partitionOf(values, join.buildKey, buildPartitions.count()), values);
+                    }
+                }
+            }
+
+            if (buildPartitions == null) {
+                Stream<String[]> probeRows = FilesReader.streamCsvFile(absolutePath, probeFileName, null)
+                        .map(row -> valuesOf(row, join.probeTitles));
+                return join.join(table, probeRows);
+            }
+
+            buildPartitions.close();
+            try (SpillFile.Partitions probePartitions = new SpillFile.Partitions(temporaryDirectory, "probe",
+                    buildPartitions.count());
+                 Stream<Map<String, String>> rows = FilesReader.streamCsvFile(absolutePath, probeFileName, null)) {
+                for (Map<String, String> row : (Iterable<Map<String, String>>) rows::iterator) {
+                    String[] values = valuesOf(row, join.probeTitles);
+                    probePartitions.write(partitionOf(values, join.probeKey, probePartitions.count()), values);
+                }
+            }
+            Path partitionsDirectory = temporaryDirectory;
+            temporaryDirectory = null;
+            return IntStream.range(0, buildPartitions.count()).boxed()
+                    .flatMap(partition -> join.joinPartition(partitionsDirectory, partition))
+                    .onClose(() -> SpillFile.deleteDirectory(partitionsDirectory));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return Stream.empty();
+        } finally {
+            SpillFile.deleteDirectory(temporaryDirectory);
+        }
+    }
+
+    /**
+     * joinPartition <br>
+     * <p>
+     * Charge une partition du plus petit fichier dans la table de jointure puis y associe la partition
+     * correspondante de l'autre fichier
+     * </p>
+     */
+    private Stream<Map<String, String>> joinPartition(Path partitionsDirectory, int partition) {
+        Map<String, List<BuildRow>> table = new HashMap<>();
+        try {
+            Path buildFile = SpillFile.Partitions.file(partitionsDirectory, "build", partition);
+            if (Files.exists(buildFile)) {
+                try (Stream<String[]> rows = SpillFile.stream(buildFile)) {
+                    rows.forEach(values -> table.computeIfAbsent(keyOf(values, buildKey), key -> new ArrayList<>(1))
+                            .add(new BuildRow(values)));
+                }
+            }
+            Path probeFile = SpillFile.Partitions.file(partitionsDirectory, "probe", partition);
+            return join(table, Files.exists(probeFile) ? SpillFile.stream(probeFile) : Stream.empty());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * join <br>
+     *
+     * @param table     table de jointure, lignes du plus petit fichier par clé
+     * @param probeRows lignes de l'autre fichier
+     * @return le flux des lignes jointes
+     */
+    private Stream<Map<String, String>> join(Map<String, List<BuildRow>> table, Stream<String[]> probeRows) {
+        Stream<Map<String, String>> joined = probeRows.flatMap(probeValues -> {
+            List<BuildRow> matches = table.get(keyOf(probeValues, probeKey));
+            if (matches == null) {
+                return joinType == CsvJoinType.LEFT && !buildLeft ? Stream.of(toRow(probeValues, null)) : Stream.empty();
+            }
+            return matches.stream().map(match -> {
+                match.matched = true;
+                return buildLeft ? toRow(match.values, probeValues) : toRow(probeValues, match.values);
+            });
+        });
+        if (joinType == CsvJoinType.LEFT && buildLeft) {
+            // lignes de gauche sans correspondance, connues une fois toutes les lignes de droite lues
+            Stream<Map<String, String>> unmatched = Stream.of(table).flatMap(buildRows -> buildRows.values().stream()
+                    .flatMap(List::stream).filter(buildRow -> !buildRow.matched).map(buildRow -> toRow(buildRow.values, null)));
+            return Stream.concat(joined, unmatched);
+        }
+        return joined;
+    }
+
+    /**
+     * toRow <br>
+     *
+     * @param leftValues  valeurs de la ligne du fichier de gauche
+     * @param rightValues valeurs de la ligne du fichier de droite, null en l'absence de correspondance
+     * @return la ligne jointe
+     */
+    private CsvRow toRow(String[] leftValues, String[] rightValues) {
+        String[] values = new String[header.size()];
+        for (int i = 0; i < leftSlots.length; i++) {
+            values[leftSlots[i]] = leftValues[i];
+        }
+        if (rightValues != null) {
+            for (int i = 0; i < rightSlots.length; i++) {
+                if (rightSlots[i] >= 0) {
+                    values[rightSlots[i]] = rightValues[i];
+                }
+            }
+        }
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] == null) {
+                values[slot] = "";
+            }
+        }
+        return new CsvRow(header, values);
+    }
+
+    private static String[] valuesOf(Map<String, String> row, List<String> titles) {
+        String[] values = new String[titles.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(titles.get(i));
+        }
+        return values;
+    }
+
+    private static String keyOf(String[] values, int key) {
+        return values[key] != null ? values[key] : "";
+    }
+
+    private static int partitionOf(String[] values, int key, int partitionsCount) {
+        return SpillFile.Partitions.partitionOf(Hashes.hash(keyOf(values, key)), partitionsCount);
+    }
+
+    /**
+     * Ligne du plus petit fichier chargée dans la table de jointure
+     */
+    private static final class BuildRow {
+
+        private final String[] values;
+        /**
+         * true si la ligne a été associée à au moins une ligne de l'autre fichier
+         */
+        private boolean matched;
+
+        private BuildRow(String[] values) {
+            this.values = values;
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package filesmanager;
+
+/**
+ * CsvJoinType <br>
+ * <p>
+ * Type de jointure réalisée par {@link CsvJoin#joinCsvFiles(String, String, String, String, CsvJoinType)}
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public enum CsvJoinType {
+    /**
+     * seules les lignes dont la clé est présente dans les deux fichiers sont restituées
+     */
+    INNER,
+    /**
+     * toutes les lignes du fichier de gauche sont restituées, les colonnes du fichier de droite
+     * étant vides en l'absence de correspondance
+     */
+    LEFT
+}
@@ -0,0 +1,264 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * CsvParallelParser <br>
+ * <p>
+ * Lecture parallèle d'un fichier CSV : le fichier est découpé en plages d'octets
+ * alignées sur les sauts de ligne, chaque plage étant lue par lectures positionnées
+ * et analysée par une tâche du {@link ForkJoinPool}. Les lignes sont restituées dans
+ * l'ordre du fichier
+ * </p>
+ * <p>
+ * Le découpage se faisant sur les sauts de ligne, les champs entre guillemets ne doivent pas
+ * contenir de saut de ligne. Un fichier compressé est analysé séquentiellement, en une seule plage
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+class CsvParallelParser<T> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * taille maximale d'une plage analysée par une seule tâche
+     */
+    private static final long MAX_RANGE_SIZE = 64L * 1024 * 1024;
+    /**
+     * nombre de plages par thread disponible, pour équilibrer la charge
+     */
+    private static final int RANGES_PER_THREAD = 4;
+    private static final byte LINE_FEED = '\n';
+
+    /**
+     * RangeParser <br>
+     * <p>
+     * Traitement des lignes d'une plage du fichier
+     * </p>
+     *
+     * @param <T> type du résultat du traitement d'une plage
+     */
+    @FunctionalInterface
+    interface RangeParser<T> {
+        /**
+         * @param reader découpeur des lignes de la plage, restreint aux colonnes extraites
+         * @param header index des colonnes extraites
+         * @return le résultat du traitement des lignes de la plage
+         */
+        T parse(CsvReader reader, CsvHeader header) throws IOException;
+    }
+
+    private final transient FileChannel channel;
+    private final transient Charset charset;
+    private final String separator;
+    private final long[] boundaries;
+    private final transient CsvHeader header;
+    private final transient RangeParser<T> rangeParser;
+    private final transient Object[] results;
+    private final int from;
+    private final int to;
+
+    private CsvParallelParser(FileChannel channel, Charset charset, String separator, long[] boundaries,
+                              CsvHeader header, RangeParser<T> rangeParser, Object[] results, int from, int to) {
+        this.channel = channel;
+        this.charset = charset;
+        this.separator = separator;
+        this.boundaries = boundaries;
+        this.header = header;
+        this.rangeParser = rangeParser;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * parse <br>
+     * <p>
+     * Analyse en parallèle un fichier CSV et extrait les valeurs des colonnes souhaitées
+     * </p>
+     *
+     * @param path         chemin du fichier
+     * @param columnTitles titres des colonnes des données à extraire (toutes les colonnes si nulle ou vide)
+     * @param charset      encodage du fichier
+     * @param separator    séparateur des colonnes
+     * @param pool         pool de threads réalisant l'analyse
+     * @return la liste des données associées à chaque colonne sous forme de Map titre-valeur, dans l'ordre du fichier
+     * @throws IOException en cas d'erreur de lecture du fichier
+     */
+    static List<Map<String, String>> parse(Path path, List<String> columnTitles, Charset charset, String separator,
+                                           ForkJoinPool pool) throws IOException {
+        List<List<Map<String, String>>> results = parseRanges(path, columnTitles, charset, separator, pool,
+                (reader, header) -> {
+                    List<Map<String, String>> datas = new ArrayList<>();
+                    while (reader.nextRecord()) {
+                        datas.add(reader.toRow(header));
+                    }
+                    return datas;
+                });
+
+        List<Map<String, String>> datas = new ArrayList<>(results.stream().mapToInt(List::size).sum());
+        for (List<Map<String, String>> rangeDatas : results) {
+            datas.addAll(rangeDatas);
+        }
+        return datas;
+    }
+
+    /**
+     * parseRanges <br>
+     * <p>
+     * Découpe la zone de données d'un fichier CSV en plages alignées sur les sauts de ligne et applique
+     * en parallèle le traitement à chacune d'elles
+     * </p>
+     *
+     * @param <T>          type du résultat du traitement d'une plage
+     * @param path         chemin du fichier
+     * @param columnTitles titres des colonnes des données à extraire (toutes les colonnes si nulle ou vide)
+     * @param charset      encodage du fichier
+     * @param separator    séparateur des colonnes
+     * @param pool         pool de threads réalisant l'analyse
+     * @param rangeParser  traitement des lignes d'une plage
+     * @return les résultats du traitement de chaque plage, dans l'ordre du fichier
+     * @throws IOException en cas d'erreur de lecture du fichier
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> parseRanges(Path path, List<String> columnTitles, Charset charset, String separator,
+                                   ForkJoinPool pool, RangeParser<T> rangeParser) throws IOException {
+        if (FilesReader.isCompressed(path)) {
+            // un fichier compressé ne peut être découpé : il est décompressé et analysé d'un seul tenant
+            try (CsvReader reader = new CsvReader(FilesReader.openInput(path), charset, separator)) {
+                CsvHeader header = FilesReader.readCsvHeader(reader, columnTitles);
+                return header != null ? Collections.singletonList(rangeParser.parse(reader, header)) : Collections.emptyList();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // la première ligne du CSV détermine la position des colonnes à extraire
+            // (le flux n'est pas fermé, sa fermeture fermerait le canal)
+            CsvReader titleReader = new CsvReader(Channels.newInputStream(channel), charset, separator);
+            CsvHeader header = FilesReader.readCsvHeader(titleReader, columnTitles);
+            long dataStart = nextLineStart(channel, titleReader.offset(), size);
+            if (header == null || dataStart >= size) {
+                return Collections.emptyList();
+            }
+
+            long[] boundaries = splitOnLines(channel, dataStart, size, pool.getParallelism());
+            Object[] results = new Object[boundaries.length - 1];
+            try {
+                pool.invoke(new CsvParallelParser<>(channel, charset, separator, boundaries, header, rangeParser,
+                        results, 0, results.length));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return Arrays.asList((T[]) results);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1) {
+            try {
+                results[from] = parseRange(boundaries[from], boundaries[from + 1]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new CsvParallelParser<>(channel, charset, separator, boundaries, header, rangeParser, results, from, middle),
+                new CsvParallelParser<>(channel, charset, separator, boundaries, header, rangeParser, results, middle, to));
+    }
+
+    /**
+     * parseRange <br>
+     * <p>
+     * Traite les lignes d'une plage du fichier, lue par lectures positionnées directement dans le buffer du
+     * découpeur
+     * </p>
+     *
+     * @param start position du premier octet de la plage (début de ligne)
+     * @param end   position suivant le dernier octet de la plage (début de ligne ou fin de fichier)
+     * @return le résultat du traitement des lignes de la plage
+     */
+    private T parseRange(long start, long end) throws IOException {
+        CsvReader reader = new CsvReader(new ChannelRangeInputStream(channel, start, end), charset, separator);
+        reader.project(header.positions());
+        // chaque plage a son propre dictionnaire, un dictionnaire ne pouvant être partagé entre threads
+        reader.useDictionary(FilesReader.createDictionary());
+        return rangeParser.parse(reader, header);
+    }
+
+    /**
+     * splitOnLines <br>
+     * <p>
+     * Découpe la zone de données du fichier en plages d'octets commençant toutes par un début de ligne
+     * </p>
+     *
+     * @return les bornes des plages, de la position du début des données jusqu'à la taille du fichier
+     */
+    private static long[] splitOnLines(FileChannel channel, long dataStart, long size, int parallelism) throws IOException {
+        long dataSize = size - dataStart;
+        long rangesCount = Math.max((long) parallelism * RANGES_PER_THREAD, (dataSize + MAX_RANGE_SIZE - 1) / MAX_RANGE_SIZE);
+        long rangeSize = Math.max(1, dataSize / rangesCount);
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(dataStart);
+        long previous = dataStart;
+        for (long position = dataStart + rangeSize; position < size; position += rangeSize) {
+            long boundary = nextLineStart(channel, Math.max(position, previous), size);
+            if (boundary > previous && boundary < size) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * nextLineStart <br>
+     * <p>
+     * Recherche le premier début de ligne situé à partir de la position donnée
+     * </p>
+     *
+     * @return la position du début de ligne, ou la taille du fichier si aucune ligne ne commence après la position
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        // la position est un début de ligne si l'octet précédent est un saut de ligne
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            int lineFeed = ByteScanner.indexOf(buffer, 0, read, LINE_FEED);
+            if (lineFeed >= 0) {
+                return offset + lineFeed + 1;
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+}
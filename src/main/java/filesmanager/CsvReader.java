@@ -0,0 +1,527 @@
+package filesmanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * CsvReader <br>
+ * <p>
+ * Découpeur de fichier CSV conforme à la RFC 4180 travaillant directement sur les octets lus :
+ * </p>
+ * <div>
+ * <ul>
+ * <li>le séparateur est recherché littéralement, sans moteur d'expressions régulières</li>
+ * <li>les champs entre guillemets peuvent contenir le séparateur, des sauts de ligne et des
+ * guillemets doublés</li>
+ * <li>seules les bornes des colonnes projetées sont mémorisées, et une chaine de caractères
+ * n'est construite que lorsque la valeur d'un champ est demandée</li>
+ * <li>les lignes vides sont ignorées</li>
+ * </ul>
+ * </div>
+ * <p>
+ * L'encodage doit être compatible ASCII (UTF-8, ISO-8859-1...) afin que séparateur, guillemets
+ * et sauts de ligne puissent être reconnus octet par octet
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * champ entre guillemets ne contenant pas de guillemets doublés
+     */
+    private static final byte QUOTED = 1;
+    /**
+     * champ entre guillemets contenant des guillemets doublés à restituer simples
+     */
+    private static final byte ESCAPED = 2;
+
+    private final InputStream input;
+    private final TextDecoder decoder;
+    private final byte[] separator;
+    private CsvDictionary dictionary;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int limit;
+    private boolean endOfInput;
+    /**
+     * position dans le flux du premier octet du buffer
+     */
+    private long bufferOffset;
+    /**
+     * position de lecture dans le buffer
+     */
+    private int position;
+    /**
+     * position dans le buffer du début de l'enregistrement en cours de lecture
+     */
+    private int recordStart;
+
+    /**
+     * emplacement de chaque colonne projetée, indexé par sa position dans l'enregistrement,
+     * null si toutes les colonnes sont conservées
+     */
+    private int[] slotsByPosition;
+    private int slotsCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] quoting = new byte[16];
+    private int fieldsCount;
+
+    CsvReader(InputStream input, Charset charset, String separator) {
+        this.input = input;
+        this.decoder = TextDecoder.of(charset);
+        this.separator = separator.getBytes(charset);
+    }
+
+    /**
+     * project <br>
+     * <p>
+     * Restreint la lecture aux colonnes dont les positions sont données. La valeur de la colonne
+     * positions[i] est ensuite restituée par {@link #field(int) field(i)}
+     * </p>
+     *
+     * @param positions positions des colonnes à conserver dans chaque enregistrement
+     */
+    void project(int[] positions) {
+        int maxPosition = Arrays.stream(positions).max().orElse(-1);
+        slotsByPosition = new int[maxPosition + 1];
+        Arrays.fill(slotsByPosition, -1);
+        for (int slot = 0; slot < positions.length; slot++) {
+            slotsByPosition[positions[slot]] = slot;
+        }
+        slotsCount = positions.length;
+        ensureSlots(slotsCount);
+    }
+
+    /**
+     * readRecord <br>
+     * <p>
+     * Lit l'enregistrement suivant et restitue la valeur de tous ses champs, quelle que soit la
+     * projection
+     * </p>
+     *
+     * @return les valeurs des champs, null en fin de fichier
+     */
+    String[] readRecord() throws IOException {
+        int[] projection = slotsByPosition;
+        int projectionCount = slotsCount;
+        slotsByPosition = null;
+        try {
+            if (!nextRecord()) {
+                return null;
+            }
+            String[] values = new String[fieldsCount];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field(i);
+            }
+            return values;
+        } finally {
+            slotsByPosition = projection;
+            slotsCount = projectionCount;
+        }
+    }
+
+    /**
+     * nextRecord <br>
+     * <p>
+     * Découpe l'enregistrement suivant et mémorise les bornes des champs projetés
+     * </p>
+     *
+     * @return false en fin de fichier
+     */
+    boolean nextRecord() throws IOException {
+        if (!skipEmptyLines()) {
+            return false;
+        }
+        recordStart = position;
+        fieldsCount = 0;
+        if (slotsByPosition != null) {
+            Arrays.fill(starts, 0, slotsCount, -1);
+        }
+
+        boolean endOfRecord = false;
+        while (!endOfRecord) {
+            int slot = slotOf(fieldsCount);
+            if (position < limit || fill()) {
+                endOfRecord = buffer[position] == QUOTE ? readQuotedField(slot) : readField(slot);
+            } else {
+                // dernier champ vide en fin de fichier
+                capture(slot, position, position, (byte) 0);
+                endOfRecord = true;
+            }
+            fieldsCount++;
+        }
+        return true;
+    }
+
+    /**
+     * @return le nombre de champs de l'enregistrement courant
+     */
+    int fieldsCount() {
+        return fieldsCount;
+    }
+
+    /**
+     * field <br>
+     * <p>
+     * Décode la valeur d'un champ projeté de l'enregistrement courant
+     * </p>
+     *
+     * @param slot emplacement de la colonne dans la projection
+     * @return la valeur du champ, null si l'enregistrement ne contient pas la colonne
+     */
+    String field(int slot) {
+        int start = starts[slot];
+        if (start < 0) {
+            return null;
+        }
+        if (dictionary == null || quoting[slot] == ESCAPED || !dictionary.isEncoded(slot)) {
+            return decode(slot);
+        }
+        long hash = Hashes.hash(buffer, start, ends[slot]);
+        String value = dictionary.get(slot, hash, buffer, start, ends[slot]);
+        if (value == null) {
+            value = decode(slot);
+            dictionary.put(slot, hash, buffer, start, ends[slot], value);
+        }
+        return value;
+    }
+
+    private String decode(int slot) {
+        String value = decoder.decode(buffer, starts[slot], ends[slot]);
+        return quoting[slot] == ESCAPED ? value.replace("\"\"", "\"") : value;
+    }
+
+    /**
+     * useDictionary <br>
+     * <p>
+     * Restitue les valeurs des champs déjà rencontrées sous la forme de leur unique instance
+     * </p>
+     *
+     * @param dictionary dictionnaire des valeurs des colonnes projetées, null pour décoder chaque valeur
+     */
+    void useDictionary(CsvDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * isEmpty <br>
+     *
+     * @param slot emplacement de la colonne dans la projection
+     * @return true si le champ est vide ou absent de l'enregistrement courant
+     */
+    boolean isEmpty(int slot) {
+        return starts[slot] < 0 || starts[slot] == ends[slot];
+    }
+
+    /**
+     * parseLong <br>
+     * <p>
+     * Lit un entier décimal directement depuis les octets du champ, sans construire de chaine de caractères
+     * </p>
+     *
+     * @param slot emplacement de la colonne dans la projection, le champ ne devant pas être vide
+     * @return la valeur entière du champ
+     * @throws NumberFormatException si le champ n'est pas un entier décimal signé tenant sur un long
+     */
+    long parseLong(int slot) {
+        int position = starts[slot];
+        int end = ends[slot];
+        boolean negative = buffer[position] == '-';
+        if (negative || buffer[position] == '+') {
+            position++;
+        }
+        if (position == end) {
+            throw new NumberFormatException("Entier invalide : " + field(slot));
+        }
+        // cumul en négatif pour pouvoir représenter Long.MIN_VALUE
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = buffer[position] - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException("Entier invalide : " + field(slot));
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException("Entier invalide : " + field(slot));
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * parseBoolean <br>
+     *
+     * @param slot emplacement de la colonne dans la projection
+     * @return true si le champ vaut "true" sans tenir compte de la casse, comme {@link Boolean#parseBoolean(String)}
+     */
+    boolean parseBoolean(int slot) {
+        int start = starts[slot];
+        if (start < 0 || ends[slot] - start != 4) {
+            return false;
+        }
+        return (buffer[start] | 0x20) == 't' && (buffer[start + 1] | 0x20) == 'r'
+                && (buffer[start + 2] | 0x20) == 'u' && (buffer[start + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * toRow <br>
+     *
+     * @param header index des colonnes projetées
+     * @return les valeurs projetées de l'enregistrement courant sous forme de Map titre-valeur
+     */
+    CsvRow toRow(CsvHeader header) {
+        String[] values = new String[header.size()];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = field(slot);
+        }
+        return new CsvRow(header, values);
+    }
+
+    /**
+     * @return la position dans le flux du premier octet de l'enregistrement courant
+     */
+    long recordOffset() {
+        return bufferOffset + recordStart;
+    }
+
+    /**
+     * @return la position dans le flux du premier octet suivant l'enregistrement courant
+     */
+    long offset() {
+        return bufferOffset + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * readField <br>
+     * <p>
+     * Lit un champ sans guillemets jusqu'au séparateur ou au saut de ligne
+     * </p>
+     *
+     * @return true si le champ termine l'enregistrement
+     */
+    private boolean readField(int slot) throws IOException {
+        int start = position;
+        while (true) {
+            int found = ByteScanner.indexOfAny(buffer, position, limit, separator[0], LINE_FEED);
+            if (found < 0) {
+                position = limit;
+                int shift = position - start;
+                boolean more = fill();
+                start = position - shift;
+                if (!more) {
+                    int end = position > start && buffer[position - 1] == CARRIAGE_RETURN ? position - 1 : position;
+                    capture(slot, start, end, (byte) 0);
+                    return true;
+                }
+                continue;
+            }
+            position = found;
+            if (buffer[position] == LINE_FEED) {
+                int end = position > start && buffer[position - 1] == CARRIAGE_RETURN ? position - 1 : position;
+                capture(slot, start, end, (byte) 0);
+                position++;
+                return true;
+            }
+            int shift = position - start;
+            boolean endOfField = matchesSeparator();
+            start = position - shift;
+            if (endOfField) {
+                capture(slot, start, position, (byte) 0);
+                position += separator.length;
+                return false;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * readQuotedField <br>
+     * <p>
+     * Lit un champ entre guillemets, pouvant contenir séparateurs, sauts de ligne et guillemets doublés
+     * </p>
+     *
+     * @return true si le champ termine l'enregistrement
+     */
+    private boolean readQuotedField(int slot) throws IOException {
+        position++;
+        int start = position;
+        byte fieldQuoting = QUOTED;
+        int end;
+        while (true) {
+            int quote = ByteScanner.indexOf(buffer, position, limit, QUOTE);
+            if (quote < 0) {
+                position = limit;
+                int shift = position - start;
+                boolean more = fill();
+                start = position - shift;
+                if (!more) {
+                    // guillemet fermant manquant : le champ s'étend jusqu'à la fin du fichier
+                    end = position;
+                    break;
+                }
+                continue;
+            }
+            position = quote;
+            if (position + 1 >= limit) {
+                // l'octet suivant le guillemet indique s'il est doublé
+                int shift = position - start;
+                fill();
+                start = position - shift;
+            }
+            if (position + 1 < limit && buffer[position + 1] == QUOTE) {
+                fieldQuoting = ESCAPED;
+                position += 2;
+            } else {
+                end = position++;
+                break;
+            }
+        }
+        capture(slot, start, end, fieldQuoting);
+
+        // ignore les caractères éventuels entre le guillemet fermant et le séparateur
+        while (position < limit || fill()) {
+            byte current = buffer[position];
+            if (current == LINE_FEED) {
+                position++;
+                return true;
+            }
+            if (current == separator[0] && matchesSeparator()) {
+                position += separator.length;
+                return false;
+            }
+            position++;
+        }
+        return true;
+    }
+
+    private boolean matchesSeparator() throws IOException {
+        if (separator.length == 1) {
+            return true;
+        }
+        while (position + separator.length > limit) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        for (int i = 1; i < separator.length; i++) {
+            if (buffer[position + i] != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * skipEmptyLines <br>
+     *
+     * @return false si la fin du fichier est atteinte
+     */
+    private boolean skipEmptyLines() throws IOException {
+        while (position < limit || fill()) {
+            byte current = buffer[position];
+            if (current == LINE_FEED) {
+                position++;
+            } else if (current == CARRIAGE_RETURN) {
+                if (position + 1 >= limit && !fill()) {
+                    return true;
+                }
+                if (buffer[position + 1] != LINE_FEED) {
+                    return true;
+                }
+                position += 2;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotOf(int fieldPosition) {
+        if (slotsByPosition == null) {
+            ensureSlots(fieldPosition + 1);
+            return fieldPosition;
+        }
+        return fieldPosition < slotsByPosition.length ? slotsByPosition[fieldPosition] : -1;
+    }
+
+    private void capture(int slot, int start, int end, byte fieldQuoting) {
+        if (slot >= 0) {
+            starts[slot] = start;
+            ends[slot] = end;
+            quoting[slot] = fieldQuoting;
+        }
+    }
+
+    private void ensureSlots(int count) {
+        if (starts.length < count) {
+            int length = Math.max(count, starts.length * 2);
+            starts = Arrays.copyOf(starts, length);
+            ends = Arrays.copyOf(ends, length);
+            quoting = Arrays.copyOf(quoting, length);
+        }
+    }
+
+    /**
+     * fill <br>
+     * <p>
+     * Complète le buffer avec la suite du flux. L'enregistrement en cours est conservé en tête de
+     * buffer, le buffer étant agrandi si l'enregistrement l'occupe entièrement ; les positions
+     * mémorisées sont décalées en conséquence
+     * </p>
+     *
+     * @return false si aucun octet n'a pu être lu
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int shift = Math.min(recordStart, position);
+        if (shift > 0) {
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            recordStart -= shift;
+            bufferOffset += shift;
+            int capturedCount = slotsByPosition == null ? fieldsCount : slotsCount;
+            for (int slot = 0; slot < capturedCount; slot++) {
+                if (starts[slot] >= 0) {
+                    starts[slot] -= shift;
+                    ends[slot] -= shift;
+                }
+            }
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = input.read(buffer, limit, buffer.length - limit);
+        while (read == 0) {
+            read = input.read(buffer, limit, buffer.length - limit);
+        }
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+}
@@ -0,0 +1,223 @@
+package filesmanager;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * CsvRow <br>
+ * <p>
+ * Ligne d'un fichier CSV sous forme de Map titre-valeur compacte : la ligne ne contient
+ * que le tableau de ses valeurs et référence l'index {@link CsvHeader} partagé par toutes
+ * les lignes du fichier
+ * </p>
+ * <div>
+ * <ul>
+ * <li>une colonne absente de la ligne (ligne plus courte que l'en-tête) n'est pas présente dans la Map</li>
+ * <li>les clés étrangères à l'en-tête restent modifiables et sont conservées à part</li>
+ * <li>les valeurs nulles ne sont pas acceptées</li>
+ * </ul>
+ * </div>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvRow extends AbstractMap<String, String> {
+
+    private final CsvHeader header;
+    /**
+     * valeurs des colonnes dans l'ordre de l'en-tête, null si absente
+     */
+    private final String[] values;
+    /**
+     * valeurs ajoutées hors des colonnes de l'en-tête, créées à la demande
+     */
+    private Map<String, String> extras;
+
+    CsvRow(CsvHeader header, String[] values) {
+        this.header = header;
+        this.values = values;
+    }
+
+    /**
+     * @return les valeurs des colonnes de l'en-tête, null si absente (tableau de la ligne, non copié)
+     */
+    String[] slotValues() {
+        return values;
+    }
+
+    @Override
+    public String get(Object key) {
+        int slot = header.slotOf(key);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        return extras != null ? extras.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = header.slotOf(key);
+        if (slot >= 0) {
+            return values[slot] != null;
+        }
+        return extras != null && extras.containsKey(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        Objects.requireNonNull(value);
+        int slot = header.slotOf(key);
+        if (slot >= 0) {
+            String previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if (extras == null) {
+            extras = new LinkedHashMap<>();
+        }
+        return extras.put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        int slot = header.slotOf(key);
+        if (slot >= 0) {
+            String previous = values[slot];
+            values[slot] = null;
+            return previous;
+        }
+        return extras != null ? extras.remove(key) : null;
+    }
+
+    @Override
+    public int size() {
+        int size = extras != null ? extras.size() : 0;
+        for (String value : values) {
+            if (value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CsvRow.this.size();
+            }
+        };
+    }
+
+    /**
+     * Parcourt les colonnes de l'en-tête présentes dans la ligne, puis les valeurs ajoutées
+     */
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int nextSlot = nextPresentSlot(0);
+        private int lastSlot = -1;
+        private Iterator<Entry<String, String>> extrasIterator;
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < values.length || extrasIterator().hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (nextSlot < values.length) {
+                lastSlot = nextSlot;
+                nextSlot = nextPresentSlot(nextSlot + 1);
+                return new SlotEntry(lastSlot);
+            }
+            if (!extrasIterator().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = -1;
+            return extrasIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                values[lastSlot] = null;
+                lastSlot = -1;
+            } else {
+                extrasIterator().remove();
+            }
+        }
+
+        private Iterator<Entry<String, String>> extrasIterator() {
+            if (extrasIterator == null) {
+                extrasIterator = extras != null ? extras.entrySet().iterator() : Map.<String, String>of().entrySet().iterator();
+            }
+            return extrasIterator;
+        }
+
+        private int nextPresentSlot(int slot) {
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Entrée modifiable associée à une colonne de l'en-tête
+     */
+    private final class SlotEntry implements Entry<String, String> {
+
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return header.title(slot);
+        }
+
+        @Override
+        public String getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public String setValue(String value) {
+            Objects.requireNonNull(value);
+            String previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry && Objects.equals(getKey(), entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package filesmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * CsvRowFilter <br>
+ * <p>
+ * Filtre des lignes d'un fichier CSV par colonne, appliqué dès le découpage de la ligne : seules
+ * les valeurs des colonnes filtrées sont décodées pour tester la ligne, les autres colonnes ne
+ * l'étant que si la ligne est retenue. Les valeurs décodées des colonnes à la fois filtrées et extraites
+ * sont reprises telles quelles dans la ligne retenue. Une ligne dont une colonne filtrée est absente est écartée
+ * </p>
+ * <p>
+ * Un filtre ne doit être associé qu'à un seul découpeur à la fois
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class CsvRowFilter {
+
+    private final Map<String, Predicate<String>> predicates;
+    /**
+     * emplacement dans la projection de chaque colonne filtrée
+     */
+    private int[] slots;
+    private List<Predicate<String>> tests;
+    /**
+     * valeurs des colonnes extraites décodées par le test de la ligne courante, null si non décodées
+     */
+    private String[] decoded;
+    /**
+     * true si une colonne filtrée est absente du fichier
+     */
+    private boolean rejectAll;
+
+    /**
+     * @param predicates condition à respecter par la valeur de chaque colonne, par titre de colonne,
+     *                   testées dans l'ordre de la Map
+     */
+    CsvRowFilter(Map<String, Predicate<String>> predicates) {
+        this.predicates = predicates;
+    }
+
+    /**
+     * bind <br>
+     * <p>
+     * Associe chaque colonne filtrée à son emplacement dans la projection, les colonnes filtrées non
+     * extraites étant ajoutées à la suite des colonnes extraites
+     * </p>
+     *
+     * @param titles titres nettoyés des colonnes du fichier
+     * @param header index des colonnes extraites
+     * @return les positions des colonnes à projeter : colonnes extraites puis colonnes filtrées non extraites
+     */
+    int[] bind(String[] titles, CsvHeader header) {
+        int[] positions = header.positions();
+        slots = new int[predicates.size()];
+        tests = new ArrayList<>(predicates.size());
+        decoded = new String[header.size()];
+        int i = 0;
+        for (Map.Entry<String, Predicate<String>> entry : predicates.entrySet()) {
+            int slot = header.slotOf(entry.getKey());
+            if (slot < 0) {
+                int position = Arrays.asList(titles).indexOf(entry.getKey());
+                if (position < 0) {
+                    rejectAll = true;
+                } else {
+                    positions = Arrays.copyOf(positions, positions.length + 1);
+                    positions[positions.length - 1] = position;
+                    slot = positions.length - 1;
+                }
+            }
+            slots[i] = slot;
+            tests.add(entry.getValue());
+            i++;
+        }
+        return positions;
+    }
+
+    /**
+     * accept <br>
+     *
+     * @param reader découpeur positionné sur la ligne à tester
+     * @return true si la ligne respecte toutes les conditions
+     */
+    boolean accept(CsvReader reader) {
+        if (rejectAll) {
+            return false;
+        }
+        Arrays.fill(decoded, null);
+        for (int i = 0; i < slots.length; i++) {
+            String value = reader.field(slots[i]);
+            if (value == null || !tests.get(i).test(value)) {
+                return false;
+            }
+            if (slots[i] < decoded.length) {
+                decoded[slots[i]] = value;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * toRow <br>
+     * <p>
+     * Equivalent de {@link CsvReader#toRow(CsvHeader)} pour une ligne acceptée, sans décoder à nouveau les
+     * colonnes filtrées
+     * </p>
+     *
+     * @param reader découpeur positionné sur la ligne acceptée
+     * @param header index des colonnes extraites
+     * @return les valeurs extraites de la ligne sous forme de Map titre-valeur
+     */
+    CsvRow toRow(CsvReader reader, CsvHeader header) {
+        String[] values = new String[header.size()];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = decoded[slot] != null ? decoded[slot] : reader.field(slot);
+        }
+        return new CsvRow(header, values);
+    }
+
+}
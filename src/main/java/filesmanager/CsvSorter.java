@@ -0,0 +1,346 @@
+package filesmanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * CsvSorter <br>
+ * <p>
+ * Tri de fichiers CSV plus volumineux que la mémoire disponible (tri fusion externe) :
+ * </p>
+ * <div>
+ * <ul>
+ * <li>les lignes sont lues par séries d'au plus {@link #setMaxRowsInMemory(int) maxRowsInMemory} lignes</li>
+ * <li>chaque série est triée en parallèle sur tous les coeurs puis déchargée dans un fichier temporaire</li>
+ * <li>les séries sont fusionnées et écrites au fur et à mesure dans le fichier trié via {@link FilesWriter}, en
+ * plusieurs passes si leur nombre dépasse {@link #setMaxMergedRuns(int) maxMergedRuns}</li>
+ * </ul>
+ * </div>
+ * <p>
+ * Le fichier trié contient l'ensemble des colonnes des fichiers lus, dans l'ordre de leur première apparition,
+ * et une seule ligne de titres. Le tri est stable : les lignes égales restent dans l'ordre des fichiers.
+ * Si toutes les lignes tiennent en une série, aucun fichier temporaire n'est écrit
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class CsvSorter {
+
+    private static int MAX_ROWS_IN_MEMORY = 1_000_000;
+    private static int MAX_MERGED_RUNS = 64;
+
+    private CsvSorter() {
+    }
+
+    /**
+     * setMaxRowsInMemory <br>
+     * <p>
+     * Définit le nombre maximal de lignes conservées en mémoire, c'est-à-dire la taille des séries triées
+     * avant d'être déchargées sur disque
+     * </p>
+     *
+     * @param maxRowsInMemory nombre maximal de lignes en mémoire
+     */
+    public static void setMaxRowsInMemory(int maxRowsInMemory) {
+        MAX_ROWS_IN_MEMORY = maxRowsInMemory;
+    }
+
+    /**
+     * setMaxMergedRuns <br>
+     * <p>
+     * Définit le nombre maximal de séries fusionnées en une passe, c'est-à-dire de fichiers temporaires
+     * ouverts simultanément
+     * </p>
+     *
+     * @param maxMergedRuns nombre maximal de séries fusionnées ensemble, au moins 2
+     */
+    public static void setMaxMergedRuns(int maxMergedRuns) {
+        MAX_MERGED_RUNS = Math.max(2, maxMergedRuns);
+    }
+
+    /**
+     * sortCsvFiles <br>
+     * <p>
+     * Trie les lignes de fichiers CSV selon l'ordre lexicographique des colonnes indiquées, une valeur
+     * absente étant considérée vide
+     * </p>
+     *
+     * @param absolutePath   adresse des fichiers
+     * @param files          noms des fichiers à trier
+     * @param sortColumns    titres des colonnes de tri, par ordre de priorité (toutes les colonnes, dans l'ordre
+     *                       de leur première apparition, si nulle ou vide)
+     * @param outputFileName nom du fichier trié, écrasé s'il existe
+     * @return le nombre de lignes triées, -1 en cas d'erreur
+     */
+    public static long sortCsvFiles(String absolutePath, List<String> files, List<String> sortColumns,
+                                    String outputFileName) {
+        List<String> columns = sortColumns;
+        if (columns == null || columns.isEmpty()) {
+            try {
+                CsvHeader header = FilesReader.readCsvFilesHeader(absolutePath, files);
+                columns = new ArrayList<>();
+                for (int slot = 0; slot < header.size(); slot++) {
+                    columns.add(header.title(slot));
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return -1;
+            }
+        }
+        Comparator<Map<String, String>> order = (first, second) -> 0;
+        for (String column : columns) {
+            order = order.thenComparing(row -> row.getOrDefault(column, ""));
+        }
+        return sortCsvFiles(absolutePath, files, order, outputFileName);
+    }
+
+    /**
+     * sortCsvFiles <br>
+     * <p>
+     * Trie les lignes de fichiers CSV selon l'ordre donné
+     * </p>
+     *
+     * @param absolutePath   adresse des fichiers
+     * @param files          noms des fichiers à trier
+     * @param order          ordre des lignes, sous forme de Map titre-valeur
+     * @param outputFileName nom du fichier trié, écrasé s'il existe
+     * @return le nombre de lignes triées, -1 en cas d'erreur
+     */
+    public static long sortCsvFiles(String absolutePath, List<String> files, Comparator<Map<String, String>> order,
+                                    String outputFileName) {
+        Path temporaryDirectory = null;
+        try {
+            CsvHeader header = FilesReader.readCsvFilesHeader(absolutePath, files);
+            List<Path> runs = new ArrayList<>();
+
+            CsvRow[] run = new CsvRow[Math.min(MAX_ROWS_IN_MEMORY, 1024)];
+            int count = 0;
+            try (Stream<Map<String, String>> rows = FilesReader.streamCsvFiles(absolutePath, files, null)) {
+                Iterator<Map<String, String>> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    if (count == run.length) {
+                        if (count < MAX_ROWS_IN_MEMORY) {
+                            run = Arrays.copyOf(run, (int) Math.min(MAX_ROWS_IN_MEMORY, count * 2L));
+                        } else {
+                            if (temporaryDirectory == null) {
+                                temporaryDirectory = Files.createTempDirectory(Paths.get(absolutePath), outputFileName);
+                            }
+                            runs.add(spill(temporaryDirectory, run, count, order));
+                            count = 0;
+                        }
+                    }
+                    run[count++] = toRow(header, iterator.next());
+                }
+            }
+            if (runs.isEmpty()) {
+                // toutes les lignes tiennent en mémoire
+                Arrays.parallelSort(run, 0, count, order);
+                write(absolutePath, outputFileName, header, Arrays.asList(run).subList(0, count).iterator());
+                return count;
+            }
+            runs.add(spill(temporaryDirectory, run, count, order));
+            run = null;
+            return merge(absolutePath, outputFileName, header, runs, order);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return -1;
+        } finally {
+            SpillFile.deleteDirectory(temporaryDirectory);
+        }
+    }
+
+    private static CsvRow toRow(CsvHeader header, Map<String, String> row) {
+        String[] values = new String[header.size()];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = row.get(header.title(slot));
+        }
+        return new CsvRow(header, values);
+    }
+
+    /**
+     * spill <br>
+     * <p>
+     * Trie une série de lignes et la décharge dans un fichier temporaire
+     * </p>
+     *
+     * @return le fichier temporaire
+     */
+    private static Path spill(Path temporaryDirectory, CsvRow[] run, int count, Comparator<Map<String, String>> order)
+            throws IOException {
+        Arrays.parallelSort(run, 0, count, order);
+        Path file = Files.createTempFile(temporaryDirectory, "run", ".tmp");
+        try (SpillFile.Writer writer = new SpillFile.Writer(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(run[i].slotValues());
+                run[i] = null;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * merge <br>
+     * <p>
+     * Fusionne les séries triées en écrivant les lignes dans le fichier trié au fur et à mesure. Au-delà de
+     * {@link #setMaxMergedRuns(int) maxMergedRuns} séries, des passes intermédiaires fusionnent les séries par
+     * groupes consécutifs dans de nouveaux fichiers temporaires, afin de borner le nombre de fichiers ouverts
+     * </p>
+     *
+     * @return le nombre de lignes écrites
+     */
+    private static long merge(String absolutePath, String outputFileName, CsvHeader header, List<Path> runs,
+                              Comparator<Map<String, String>> order) throws IOException {
+        Path temporaryDirectory = runs.get(0).getParent();
+        while (runs.size() > MAX_MERGED_RUNS) {
+            List<Path> mergedRuns = new ArrayList<>();
+            for (int first = 0; first < runs.size(); first += MAX_MERGED_RUNS) {
+                List<Path> group = runs.subList(first, Math.min(first + MAX_MERGED_RUNS, runs.size()));
+                if (group.size() == 1) {
+                    mergedRuns.add(group.get(0));
+                    continue;
+                }
+                Path file = Files.createTempFile(temporaryDirectory, "run", ".tmp");
+                try (RunsMerge merge = new RunsMerge(group, header, order);
+                     SpillFile.Writer writer = new SpillFile.Writer(file)) {
+                    while (merge.hasNext()) {
+                        writer.write(merge.next().slotValues());
+                    }
+                }
+                for (Path run : group) {
+                    Files.delete(run);
+                }
+                mergedRuns.add(file);
+            }
+            runs = mergedRuns;
+        }
+
+        try (RunsMerge merge = new RunsMerge(runs, header, order)) {
+            write(absolutePath, outputFileName, header, merge);
+            return merge.count;
+        }
+    }
+
+    /**
+     * write <br>
+     * <p>
+     * Ecrit les lignes triées au fil de la fusion, une erreur d'écriture étant transmise à l'appelant
+     * </p>
+     */
+    private static void write(String absolutePath, String outputFileName, CsvHeader header, Iterator<CsvRow> rows)
+            throws IOException {
+        List<String> titles = new ArrayList<>();
+        for (int slot = 0; slot < header.size(); slot++) {
+            titles.add(header.title(slot));
+        }
+        try (CsvChannelWriter writer = FilesWriter.openCsvWriter(Paths.get(absolutePath, outputFileName), titles,
+                FilesWriter.OVERWRITE_EXISTING_CONTENT)) {
+            writer.writeHeader(true);
+            while (rows.hasNext()) {
+                writer.writeRow(rows.next());
+            }
+        }
+    }
+
+    /**
+     * Fusion de séries triées, restituant leurs lignes dans l'ordre
+     */
+    private static final class RunsMerge implements Iterator<CsvRow>, Closeable {
+
+        private final PriorityQueue<RunCursor> cursors;
+        private long count;
+
+        private RunsMerge(List<Path> runs, CsvHeader header, Comparator<Map<String, String>> order) throws IOException {
+            // à égalité, la ligne de la série la plus ancienne passe en premier afin que le tri reste stable
+            cursors = new PriorityQueue<>(runs.size(), (first, second) -> {
+                int comparison = order.compare(first.row, second.row);
+                return comparison != 0 ? comparison : Integer.compare(first.index, second.index);
+            });
+            try {
+                for (int index = 0; index < runs.size(); index++) {
+                    RunCursor cursor = new RunCursor(index, new SpillFile.Reader(runs.get(index)), header);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    } else {
+                        cursor.reader.close();
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public CsvRow next() {
+            RunCursor cursor = cursors.poll();
+            CsvRow row = cursor.row;
+            try {
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                } else {
+                    cursor.reader.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (RunCursor cursor : cursors) {
+                cursor.reader.close();
+            }
+            cursors.clear();
+        }
+    }
+
+    /**
+     * Position de lecture dans une série triée
+     */
+    private static final class RunCursor {
+
+        private final int index;
+        private final SpillFile.Reader reader;
+        private final CsvHeader header;
+        private CsvRow row;
+
+        private RunCursor(int index, SpillFile.Reader reader, CsvHeader header) {
+            this.index = index;
+            this.reader = reader;
+            this.header = header;
+        }
+
+        /**
+         * @return false si la série est épuisée
+         */
+        private boolean advance() throws IOException {
+            String[] values = reader.read();
+            row = values != null ? new CsvRow(header, values) : null;
+            return row != null;
+        }
+    }
+
+}
@@ -0,0 +1,359 @@
+package filesmanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Deduplicator <br>
+ * <p>
+ * Suppression des lignes en double de fichiers trop volumineux pour un HashSet&lt;String&gt; : seule la première
+ * occurrence de chaque ligne (ou de chaque clé pour un fichier CSV) est écrite, dans l'ordre des fichiers
+ * </p>
+ * <div> Deux modes sont proposés :
+ * <ul>
+ * <li>par défaut, seule une empreinte 64 bits de chaque ligne distincte est conservée en mémoire, dans un tableau
+ * de long (une dizaine d'octets par ligne). Deux lignes différentes de même empreinte sont confondues : le risque
+ * est négligeable en dessous du milliard de lignes distinctes (de l'ordre de 3% à ce volume)</li>
+ * <li>en {@link #setExactMode(boolean) mode exact}, les lignes sont réparties par empreinte dans des fichiers
+ * temporaires, chaque partition étant dédoublonnée en mémoire sur les valeurs complètes, puis les partitions
+ * sont fusionnées dans l'ordre d'origine des lignes</li>
+ * </ul>
+ * </div>
+ * <p>
+ * Le fichier produit doit être distinct des fichiers lus
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class Deduplicator {
+
+    private static boolean EXACT_MODE = false;
+    private static int PARTITIONS_COUNT = 64;
+
+    private Deduplicator() {
+    }
+
+    /**
+     * setExactMode <br>
+     * <p>
+     * Active la comparaison des valeurs complètes des lignes, au prix d'une répartition sur disque
+     * </p>
+     *
+     * @param exactMode true pour comparer les valeurs, false pour comparer les empreintes
+     */
+    public static void setExactMode(boolean exactMode) {
+        EXACT_MODE = exactMode;
+    }
+
+    /**
+     * setPartitionsCount <br>
+     * <p>
+     * Définit le nombre de partitions du mode exact. Les lignes distinctes de chaque partition doivent tenir en mémoire
+     * </p>
+     *
+     * @param partitionsCount nombre de partitions
+     */
+    public static void setPartitionsCount(int partitionsCount) {
+        PARTITIONS_COUNT = partitionsCount;
+    }
+
+    /**
+     * deduplicateLinesInFiles <br>
+     * <p>
+     * Ecrit les lignes distinctes d'un ou plusieurs fichiers
+     * </p>
+     *
+     * @param absolutePath   adresse des fichiers
+     * @param files          noms des fichiers à dédoublonner
+     * @param outputFileName nom du fichier produit, écrasé s'il existe
+     * @return le nombre de lignes écrites, -1 en cas d'erreur
+     */
+    public static long deduplicateLinesInFiles(String absolutePath, List<String> files, String outputFileName) {
+        long[] count = new long[1];
+        try (BufferedWriter writer = FilesWriter.openWriter(Paths.get(absolutePath, outputFileName),
+                FilesWriter.OVERWRITE_EXISTING_CONTENT)) {
+            if (EXACT_MODE) {
+                try (Stream<String[]> lines = files.stream().flatMap(fileName -> streamLines(absolutePath, fileName))) {
+                    deduplicateExactly(absolutePath, lines, values -> values[0], values -> Hashes.hash(values[0]), values -> {
+                        try {
+                            writeLine(writer, values[0]);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        count[0]++;
+                    });
+                }
+            } else {
+                // empreinte calculée sur les octets de la ligne : seules les lignes nouvelles sont décodées
+                LongHashSet fingerprints = new LongHashSet();
+                for (String fileName : files) {
+                    try (LineReader reader = FilesReader.openLineReader(absolutePath, fileName)) {
+                        while (reader.nextLine()) {
+                            if (fingerprints.add(Hashes.hash(reader.buffer(), reader.lineStart(), reader.lineEnd()))) {
+                                writeLine(writer, reader.line());
+                                count[0]++;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return -1;
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return -1;
+        }
+        return count[0];
+    }
+
+    /**
+     * deduplicateCsvFiles <br>
+     * <p>
+     * Ecrit les lignes d'un ou plusieurs fichiers CSV dont les valeurs des colonnes clés n'ont pas déjà été
+     * rencontrées. Le fichier produit contient l'ensemble des colonnes des fichiers lus, une valeur absente
+     * étant considérée vide
+     * </p>
+     *
+     * @param absolutePath   adresse des fichiers
+     * @param files          noms des fichiers à dédoublonner
+     * @param keyColumns     titres des colonnes clés (toutes les colonnes si nulle ou vide)
+     * @param outputFileName nom du fichier produit, écrasé s'il existe
+     * @return le nombre de lignes écrites, -1 en cas d'erreur ou si une colonne clé est absente des fichiers
+     */
+    public static long deduplicateCsvFiles(String absolutePath, List<String> files, List<String> keyColumns,
+                                           String outputFileName) {
+        try {
+            CsvHeader header = FilesReader.readCsvFilesHeader(absolutePath, files);
+            List<String> titles = new ArrayList<>();
+            for (int slot = 0; slot < header.size(); slot++) {
+                titles.add(header.title(slot));
+            }
+            int[] keySlots = keyColumns == null || keyColumns.isEmpty()
+                    ? titles.stream().mapToInt(header::slotOf).toArray()
+                    : keyColumns.stream().mapToInt(title -> keySlotOf(header, title)).toArray();
+
+            long[] count = new long[1];
+            try (CsvChannelWriter writer = FilesWriter.openCsvWriter(Paths.get(absolutePath, outputFileName), titles,
+                    FilesWriter.OVERWRITE_EXISTING_CONTENT);
+                 Stream<String[]> rows = FilesReader.streamCsvFiles(absolutePath, files, null)
+                         .map(row -> valuesOf(header, row))) {
+                writer.writeHeader(true);
+                Consumer<String[]> output = values -> {
+                    try {
+                        writer.writeRow(new CsvRow(header, values));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                };
+                if (EXACT_MODE) {
+                    deduplicateExactly(absolutePath, rows, values -> keyOf(values, keySlots),
+                            values -> hashOf(values, keySlots), output);
+                } else {
+                    LongHashSet fingerprints = new LongHashSet();
+                    rows.filter(values -> fingerprints.add(hashOf(values, keySlots))).forEach(output);
+                }
+            }
+            return count[0];
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return -1;
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * keySlotOf <br>
+     *
+     * @return l'emplacement de la colonne clé dans les lignes lues
+     * @throws IllegalArgumentException si aucun des fichiers ne contient la colonne
+     */
+    private static int keySlotOf(CsvHeader header, String title) {
+        int slot = header.slotOf(title);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Colonne clé inconnue : " + title);
+        }
+        return slot;
+    }
+
+    /**
+     * deduplicateExactly <br>
+     * <p>
+     * Dédoublonne des lignes en trois passes : répartition par empreinte de clé avec le numéro d'ordre de chaque
+     * ligne, dédoublonnage en mémoire de chaque partition, puis fusion des partitions selon le numéro d'ordre
+     * </p>
+     *
+     * @param records lignes à dédoublonner
+     * @param keyOf   clé d'une ligne, comparée par equals
+     * @param hashOf  empreinte de la clé d'une ligne
+     * @param output  destinataire des lignes distinctes, dans l'ordre d'origine
+     */
+    private static void deduplicateExactly(String absolutePath, Stream<String[]> records, Function<String[], Object> keyOf,
+                                           ToLongFunction<String[]> hashOf, Consumer<String[]> output) throws IOException {
+        Path temporaryDirectory = Files.createTempDirectory(Paths.get(absolutePath), "dedup");
+        try {
+            int partitionsCount;
+            try (SpillFile.Partitions partitions = new SpillFile.Partitions(temporaryDirectory, "all", PARTITIONS_COUNT)) {
+                partitionsCount = partitions.count();
+                long sequence = 0;
+                for (String[] values : (Iterable<String[]>) records::iterator) {
+                    String[] record = new String[values.length + 1];
+                    record[0] = Long.toString(sequence++);
+                    System.arraycopy(values, 0, record, 1, values.length);
+                    partitions.write(SpillFile.Partitions.partitionOf(hashOf.applyAsLong(values), partitionsCount), record);
+                }
+            }
+
+            List<Path> uniqueFiles = new ArrayList<>();
+            for (int partition = 0; partition < partitionsCount; partition++) {
+                Path file = SpillFile.Partitions.file(temporaryDirectory, "all", partition);
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                Path uniqueFile = SpillFile.Partitions.file(temporaryDirectory, "unique", partition);
+                Set<Object> keys = new HashSet<>();
+                try (Stream<String[]> partitionRecords = SpillFile.stream(file);
+                     SpillFile.Writer writer = new SpillFile.Writer(uniqueFile)) {
+                    for (String[] record : (Iterable<String[]>) partitionRecords::iterator) {
+                        if (keys.add(keyOf.apply(Arrays.copyOfRange(record, 1, record.length)))) {
+                            writer.write(record);
+                        }
+                    }
+                }
+                Files.delete(file);
+                uniqueFiles.add(uniqueFile);
+            }
+
+            merge(uniqueFiles, output);
+        } finally {
+            SpillFile.deleteDirectory(temporaryDirectory);
+        }
+    }
+
+    /**
+     * merge <br>
+     * <p>
+     * Fusionne les partitions dédoublonnées, chacune triée par numéro d'ordre, pour restituer les lignes dans
+     * leur ordre d'origine
+     * </p>
+     */
+    private static void merge(List<Path> files, Consumer<String[]> output) throws IOException {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>((first, second) -> Long.compare(first.sequence, second.sequence));
+        try {
+            for (Path file : files) {
+                Cursor cursor = new Cursor(new SpillFile.Reader(file));
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                } else {
+                    cursor.reader.close();
+                }
+            }
+            while (!cursors.isEmpty()) {
+                Cursor cursor = cursors.poll();
+                output.accept(Arrays.copyOfRange(cursor.record, 1, cursor.record.length));
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                } else {
+                    cursor.reader.close();
+                }
+            }
+        } finally {
+            for (Cursor cursor : cursors) {
+                cursor.reader.close();
+            }
+        }
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+    private static Stream<String[]> streamLines(String absolutePath, String fileName) {
+        try {
+            LineReader reader = FilesReader.openLineReader(absolutePath, fileName);
+            return Stream.generate(() -> {
+                try {
+                    return reader.nextLine() ? new String[] { reader.line() } : null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).takeWhile(values -> values != null).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String[] valuesOf(CsvHeader header, Map<String, String> row) {
+        String[] values = new String[header.size()];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = row.get(header.title(slot));
+        }
+        return values;
+    }
+
+    private static List<String> keyOf(String[] values, int[] keySlots) {
+        List<String> key = new ArrayList<>(keySlots.length);
+        for (int slot : keySlots) {
+            key.add(values[slot] != null ? values[slot] : "");
+        }
+        return key;
+    }
+
+    private static long hashOf(String[] values, int[] keySlots) {
+        long hash = 0;
+        for (int slot : keySlots) {
+            hash = Hashes.mix(hash + Hashes.hash(values[slot] != null ? values[slot] : ""));
+        }
+        return hash;
+    }
+
+    /**
+     * Position de lecture dans une partition dédoublonnée
+     */
+    private static final class Cursor {
+
+        private final SpillFile.Reader reader;
+        private String[] record;
+        private long sequence;
+
+        private Cursor(SpillFile.Reader reader) {
+            this.reader = reader;
+        }
+
+        private boolean advance() throws IOException {
+            record = reader.read();
+            if (record == null) {
+                return false;
+            }
+            sequence = Long.parseLong(record[0]);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,310 @@
+package filesmanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FilesAppender <br>
+ * <p>
+ * Ajout de données à la fin d'un fichier depuis plusieurs threads, sans attendre une synchronisation sur
+ * disque (fsync) à chaque ajout : le fichier reste ouvert, un thread d'écriture regroupe les ajouts en
+ * attente en un seul lot écrit d'un bloc, puis synchronise le fichier selon la {@link FlushPolicy} choisie
+ * </p>
+ * <p>
+ * Chaque ajout restitue un CompletableFuture terminé lorsque ses données sont synchronisées sur disque, ou
+ * terminé en erreur si elles n'ont pu être écrites. Les ajouts d'un même thread sont écrits dans leur ordre
+ * d'appel. Le fichier doit être non compressé
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class FilesAppender implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * nombre maximal d'ajouts regroupés en un lot
+     */
+    private static final int MAX_BATCH_SIZE = 4096;
+    /**
+     * marque de fin des ajouts, placée dans la file à la fermeture
+     */
+    private static final Pending END = new Pending(new byte[0], null);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Charset charset;
+    private final String lineBreak;
+    private final FlushPolicy policy;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private boolean closed;
+    private volatile IOException failure;
+
+    // état du thread d'écriture
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final List<Pending> batch = new ArrayList<>();
+    private final List<CompletableFuture<Void>> unsynced = new ArrayList<>();
+    private long unsyncedBytes;
+    private long firstUnsyncedNanos;
+
+    private FilesAppender(Path file, FileChannel channel, FlushPolicy policy) {
+        this.file = file;
+        this.channel = channel;
+        this.charset = FilesWriter.getEncoding();
+        this.lineBreak = FilesWriter.getLineBreak();
+        this.policy = policy;
+        this.writerThread = new Thread(this::run, "FilesAppender-" + file.getFileName());
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * open <br>
+     * <p>
+     * Ouvre un fichier en ajout, en le créant s'il n'existe pas
+     * </p>
+     *
+     * @param absolutePath adresse absolue du fichier
+     * @param fileName     nom du fichier avec son extension
+     * @param policy       politique de synchronisation des données écrites
+     * @return l'écrivain du fichier, null si le fichier n'a pas pu être ouvert
+     */
+    public static FilesAppender open(String absolutePath, String fileName, FlushPolicy policy) {
+        Path path = Paths.get(absolutePath, fileName);
+        try {
+            FilesAppender appender = new FilesAppender(path, FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND), policy);
+            appender.writerThread.start();
+            return appender;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * append <br>
+     * <p>
+     * Ajoute des données à la fin du fichier
+     * </p>
+     *
+     * @param datas données à ajouter, encodées selon l'encodage de {@link FilesWriter}
+     * @return un CompletableFuture terminé lorsque les données sont synchronisées sur disque
+     */
+    public CompletableFuture<Void> append(String datas) {
+        Pending pending = new Pending(datas.getBytes(charset), new CompletableFuture<>());
+        synchronized (this) {
+            if (closed) {
+                IOException cause = failure;
+                pending.future.completeExceptionally(cause != null ? cause
+                        : new IllegalStateException("Fichier fermé : " + file));
+            } else {
+                queue.add(pending);
+            }
+        }
+        return pending.future;
+    }
+
+    /**
+     * appendLine <br>
+     * <p>
+     * Ajoute une ligne suivie du saut de ligne de {@link FilesWriter} à la fin du fichier
+     * </p>
+     *
+     * @param line ligne à ajouter
+     * @return un CompletableFuture terminé lorsque la ligne est synchronisée sur disque
+     */
+    public CompletableFuture<Void> appendLine(String line) {
+        return append(line + lineBreak);
+    }
+
+    /**
+     * close <br>
+     * <p>
+     * Ecrit et synchronise les ajouts en attente puis ferme le fichier
+     * </p>
+     *
+     * @throws IOException si des données n'ont pu être écrites
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                queue.add(END);
+            }
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Fermeture interrompue : " + file);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * run <br>
+     * <p>
+     * Boucle du thread d'écriture : attend des ajouts, les écrit par lot et synchronise le fichier lorsque la
+     * politique l'exige
+     * </p>
+     */
+    private void run() {
+        try {
+            boolean ended = false;
+            while (!ended) {
+                Pending first = nextPending();
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    ended = writeBatch();
+                }
+                if (!unsynced.isEmpty() && (ended || unsyncedBytes >= policy.maxBytes()
+                        || System.nanoTime() - firstUnsyncedNanos >= TimeUnit.MILLISECONDS.toNanos(policy.maxDelayMillis()))) {
+                    sync();
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException("Ecriture interrompue : " + file));
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * nextPending <br>
+     *
+     * @return le prochain ajout en attente, null si le délai avant synchronisation des données non
+     * synchronisées est écoulé
+     */
+    private Pending nextPending() throws InterruptedException {
+        if (unsynced.isEmpty() || policy.maxDelayMillis() == Long.MAX_VALUE) {
+            return queue.take();
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(policy.maxDelayMillis()) - (System.nanoTime() - firstUnsyncedNanos);
+        return queue.poll(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * writeBatch <br>
+     * <p>
+     * Ecrit les données du lot en les regroupant dans le buffer
+     * </p>
+     *
+     * @return true si le lot contient la marque de fin des ajouts
+     */
+    private boolean writeBatch() throws IOException {
+        boolean ended = false;
+        try {
+            for (Pending pending : batch) {
+                if (pending == END) {
+                    ended = true;
+                    continue;
+                }
+                if (pending.bytes.length > buffer.remaining()) {
+                    flushBuffer();
+                }
+                if (pending.bytes.length > buffer.capacity()) {
+                    ByteBuffer bytes = ByteBuffer.wrap(pending.bytes);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                } else {
+                    buffer.put(pending.bytes);
+                }
+            }
+            flushBuffer();
+        } finally {
+            // les ajouts du lot sont confirmés à la prochaine synchronisation, ou en erreur avec les autres
+            for (Pending pending : batch) {
+                if (pending != END) {
+                    if (unsynced.isEmpty()) {
+                        firstUnsyncedNanos = System.nanoTime();
+                    }
+                    unsynced.add(pending.future);
+                    unsyncedBytes += pending.bytes.length;
+                }
+            }
+            batch.clear();
+        }
+        return ended;
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        for (CompletableFuture<Void> future : unsynced) {
+            future.complete(null);
+        }
+        unsynced.clear();
+        unsyncedBytes = 0;
+    }
+
+    /**
+     * fail <br>
+     * <p>
+     * Termine en erreur les ajouts non synchronisés et ceux en attente, et refuse les ajouts suivants
+     * </p>
+     */
+    private void fail(IOException e) {
+        synchronized (this) {
+            failure = e;
+            closed = true;
+        }
+        for (CompletableFuture<Void> future : unsynced) {
+            future.completeExceptionally(e);
+        }
+        unsynced.clear();
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (Pending pending : remaining) {
+            if (pending != END) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Ajout en attente d'écriture
+     */
+    private static final class Pending {
+
+        private final byte[] bytes;
+        private final CompletableFuture<Void> future;
+
+        private Pending(byte[] bytes, CompletableFuture<Void> future) {
+            this.bytes = bytes;
+            this.future = future;
+        }
+    }
+
+}
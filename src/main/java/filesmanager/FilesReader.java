@@ -1,14 +1,28 @@
 package filesmanager;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * FilesReader <br>
@@ -24,8 +38,76 @@ public class FilesReader {
 
 	private final static String ALL_STRING_REGEX = ".*";
 	
+    private static Charset ENCODING = StandardCharsets.UTF_8;
     private static String CSV_SEPARATOR = ";";
 
+    private static boolean DICTIONARY_ENCODING = false;
+    private static int MAX_DICTIONARY_SIZE = 10_000;
+
+    /**
+     * extension des fichiers compressés au format gzip
+     */
+    static final String COMPRESSED_EXTENSION = ".gz";
+    private static final byte[] GZIP_MAGIC = { (byte) 0x1F, (byte) 0x8B };
+    /**
+     * taille des buffers de lecture d'un fichier compressé, lu par blocs de la taille de ceux des découpeurs
+     */
+    private static final int COMPRESSED_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * setEncoding <br>
+     * <p>
+     * Définit l'encodage des fichiers lus. Les fichiers étant découpés octet par octet, l'encodage doit
+     * coder les caractères ASCII sur un octet de même valeur (UTF-8, ISO-8859-1, windows-1252...). Les
+     * valeurs ASCII d'un fichier ISO-8859-1 ou windows-1252 sont restituées sans passer par le décodeur
+     * </p>
+     *
+     * @param encoding encodage des fichiers
+     * @throws IllegalArgumentException si l'encodage n'est pas compatible ASCII (UTF-16...)
+     */
+    public static void setEncoding(Charset encoding) {
+        if (!TextDecoder.isAsciiCompatible(encoding)) {
+            throw new IllegalArgumentException("Encodage non compatible ASCII : " + encoding);
+        }
+        ENCODING = encoding;
+    }
+
+    /**
+     * setDictionaryEncoding <br>
+     * <p>
+     * Active l'encodage par dictionnaire des données CSV chargées : au sein d'un chargement, les valeurs
+     * répétées d'une colonne partagent une unique instance de chaine de caractères au lieu d'une instance
+     * par ligne. Adapté aux colonnes à faible cardinalité (statut, pays, devise...)
+     * </p>
+     *
+     * @param dictionaryEncoding true pour activer l'encodage par dictionnaire
+     */
+    public static void setDictionaryEncoding(boolean dictionaryEncoding) {
+        DICTIONARY_ENCODING = dictionaryEncoding;
+    }
+
+    /**
+     * setMaxDictionarySize <br>
+     * <p>
+     * Définit le nombre maximal de valeurs distinctes du dictionnaire d'une colonne, au-delà duquel les
+     * valeurs de la colonne ne sont plus partagées
+     * </p>
+     *
+     * @param maxDictionarySize nombre maximal de valeurs distinctes par colonne
+     */
+    public static void setMaxDictionarySize(int maxDictionarySize) {
+        MAX_DICTIONARY_SIZE = maxDictionarySize;
+    }
+
+    /**
+     * setCsvSeparator <br>
+     * <p>
+     * Définit le séparateur des fichiers CSV, recherché tel quel dans les lignes (il ne s'agit pas
+     * d'une expression régulière)
+     * </p>
+     *
+     * @param csvSeparator séparateur des colonnes
+     */
     public static void setCsvSeparator(String csvSeparator) {
         CSV_SEPARATOR = csvSeparator;
     }
@@ -79,16 +161,237 @@ public class FilesReader {
                                                            Function<String, R> interpreter) {
 
         Pattern pattern = Pattern.compile(patternToExtract);
+        LiteralPrefilter prefilter = LiteralPrefilter.of(patternToExtract, ENCODING);
 
         List<R> list = new ArrayList<>();
 
         for (String fileName : files) {
-            try (Stream<String> sourceLines = Files.lines(Paths.get(path, fileName))) {
-                list.addAll(sourceLines.map(line -> extractFirstOccurence(pattern, line)).filter(Objects::nonNull)
-                        .map(interpreter).filter(Objects::nonNull).collect(Collectors.toList()));
-            } catch (IOException e) {
-                e.printStackTrace();
+            list.addAll(readAndInterpretLinesInFile(path, fileName, pattern, prefilter, interpreter));
+        }
+        return list;
+    }
+
+    /**
+     * readAndInterpretLinesInFiles <br>
+     * <p>
+     * Equivalent de {@link #readAndInterpretLinesInFiles(String, List, String, Function)} lisant
+     * simultanément plusieurs fichiers, chacun sur son propre thread. Les résultats sont restitués dans
+     * l'ordre des fichiers et l'échec de la lecture d'un fichier n'interrompt pas celle des autres.
+     * L'interpréteur doit pouvoir être appelé depuis plusieurs threads
+     * </p>
+     *
+     * @param <R>              type d'objet à instancier à partir des données des
+     *                         fichiers
+     * @param path             adresse des fichiers
+     * @param files            noms des fichiers
+     * @param patternToExtract motif à extraire dans chaque ligne
+     * @param interpreter      fonction instanciant un objet à partir des données
+     *                         issues de chaque ligne
+     * @param parallelism      nombre maximal de fichiers lus simultanément
+     * @return une liste d'objet de type <R>
+     */
+    public static <R> List<R> readAndInterpretLinesInFiles(String path, List<String> files, String patternToExtract,
+                                                           Function<String, R> interpreter, int parallelism) {
+        Pattern pattern = Pattern.compile(patternToExtract);
+        LiteralPrefilter prefilter = LiteralPrefilter.of(patternToExtract, ENCODING);
+        return readFilesConcurrently(files, parallelism,
+                fileName -> readAndInterpretLinesInFile(path, fileName, pattern, prefilter, interpreter));
+    }
+
+    /**
+     * readAndInterpretLinesInFile <br>
+     *
+     * @param prefilter préfiltre des lignes, null si le motif n'a pas de littéral obligatoire
+     * @return les objets instanciés à partir des lignes du fichier, aucun si la lecture du fichier échoue
+     */
+    private static <R> List<R> readAndInterpretLinesInFile(String path, String fileName, Pattern pattern,
+                                                           LiteralPrefilter prefilter, Function<String, R> interpreter) {
+        List<R> list = new ArrayList<>();
+        try (LineReader reader = openLineReader(path, fileName)) {
+            interpretLines(reader, pattern, prefilter, interpreter, list::add, false);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+        return list;
+    }
+
+    /**
+     * openLineReader <br>
+     *
+     * @param path     adresse du fichier
+     * @param fileName nom du fichier
+     * @return le lecteur des lignes du fichier, à fermer après usage
+     * @throws IOException en cas d'erreur d'ouverture du fichier
+     */
+    static LineReader openLineReader(String path, String fileName) throws IOException {
+        return new LineReader(openInput(Paths.get(path, fileName)), ENCODING);
+    }
+
+    /**
+     * openInput <br>
+     * <p>
+     * Ouvre un fichier en lecture, décompressé au fil de la lecture s'il est compressé au format gzip
+     * (extension .gz ou octets d'en-tête gzip)
+     * </p>
+     *
+     * @param file chemin du fichier
+     * @return le flux des octets du fichier, décompressés si nécessaire
+     * @throws IOException en cas d'erreur d'ouverture du fichier
+     */
+    static InputStream openInput(Path file) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(file), COMPRESSED_BUFFER_SIZE);
+        try {
+            if (isCompressed(file, input)) {
+                return new GZIPInputStream(input, COMPRESSED_BUFFER_SIZE);
             }
+            return input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * isCompressed <br>
+     *
+     * @param file chemin du fichier
+     * @return true si le fichier est compressé au format gzip
+     * @throws IOException en cas d'erreur de lecture du fichier
+     */
+    static boolean isCompressed(Path file) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), GZIP_MAGIC.length)) {
+            return isCompressed(file, input);
+        }
+    }
+
+    private static boolean isCompressed(Path file, InputStream input) throws IOException {
+        if (file.getFileName().toString().toLowerCase().endsWith(COMPRESSED_EXTENSION)) {
+            return true;
+        }
+        input.mark(GZIP_MAGIC.length);
+        byte[] magic = input.readNBytes(GZIP_MAGIC.length);
+        input.reset();
+        return Arrays.equals(magic, GZIP_MAGIC);
+    }
+
+    /**
+     * interpretLines <br>
+     * <p>
+     * Extrait de chaque ligne lue la valeur correspondant au pattern et transmet l'objet instancié par
+     * l'interpréteur. Les lignes ne contenant pas le littéral obligatoire du motif sont écartées sans
+     * être décodées
+     * </p>
+     *
+     * @param reader              lecteur des lignes
+     * @param pattern             motif à extraire dans chaque ligne
+     * @param prefilter           préfiltre des lignes, null si le motif n'a pas de littéral obligatoire
+     * @param interpreter         fonction instanciant un objet à partir des données issues de chaque ligne
+     * @param consumer            destinataire des objets instanciés
+     * @param completeLinesOnly   true pour ignorer une dernière ligne sans saut de ligne (en cours d'écriture)
+     * @return la position dans le flux suivant la dernière ligne traitée
+     */
+    static <R> long interpretLines(LineReader reader, Pattern pattern, LiteralPrefilter prefilter,
+                                   Function<String, R> interpreter, Consumer<R> consumer,
+                                   boolean completeLinesOnly) throws IOException {
+        long offset = reader.offset();
+        while (reader.nextLine()) {
+            if (completeLinesOnly && !reader.lineTerminated()) {
+                break;
+            }
+            offset = reader.offset();
+            if (prefilter != null && !prefilter.mayMatch(reader.buffer(), reader.lineStart(), reader.lineEnd())) {
+                continue;
+            }
+            String value = extractFirstOccurence(pattern, reader.line());
+            R object = value != null ? interpreter.apply(value) : null;
+            if (object != null) {
+                consumer.accept(object);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @return l'encodage des fichiers lus
+     */
+    static Charset getEncoding() {
+        return ENCODING;
+    }
+
+    /**
+     * @return un dictionnaire des valeurs pour un chargement, null si l'encodage par dictionnaire est désactivé
+     */
+    static CsvDictionary createDictionary() {
+        return DICTIONARY_ENCODING ? new CsvDictionary(MAX_DICTIONARY_SIZE) : null;
+    }
+
+    /**
+     * @return le séparateur des colonnes des fichiers CSV lus
+     */
+    static String getCsvSeparator() {
+        return CSV_SEPARATOR;
+    }
+
+    /**
+     * readFilesConcurrently <br>
+     * <p>
+     * Lit plusieurs fichiers sur un pool de threads borné puis concatène les résultats dans l'ordre des
+     * fichiers. L'échec de la lecture d'un fichier est tracé sans interrompre la lecture des autres
+     * </p>
+     *
+     * @param files       noms des fichiers
+     * @param parallelism nombre maximal de fichiers lus simultanément
+     * @param fileReader  fonction de lecture d'un fichier
+     * @return les résultats de la lecture de tous les fichiers
+     */
+    private static <R> List<R> readFilesConcurrently(List<String> files, int parallelism,
+                                                     Function<String, List<R>> fileReader) {
+        List<R> list = new ArrayList<>();
+        for (List<R> fileList : mapConcurrently(files, parallelism, fileReader, Collections.emptyList())) {
+            list.addAll(fileList);
+        }
+        return list;
+    }
+
+    /**
+     * mapConcurrently <br>
+     * <p>
+     * Applique un traitement à chaque élément sur un pool de threads borné et restitue les résultats dans
+     * l'ordre des éléments. L'échec du traitement d'un élément est tracé sans interrompre celui des autres
+     * </p>
+     *
+     * @param items       éléments à traiter
+     * @param parallelism nombre maximal d'éléments traités simultanément
+     * @param task        traitement d'un élément
+     * @param failed      résultat d'un élément dont le traitement a échoué
+     * @return le résultat du traitement de chaque élément, ou des premiers éléments si le thread appelant
+     * est interrompu
+     */
+    static <T, R> List<R> mapConcurrently(List<T> items, int parallelism, Function<T, R> task, R failed) {
+        List<R> list = new ArrayList<>(items.size());
+        if (items.isEmpty()) {
+            return list;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, items.size())));
+        try {
+            List<Future<R>> results = new ArrayList<>();
+            for (T item : items) {
+                results.add(executor.submit(() -> task.apply(item)));
+            }
+            for (Future<R> result : results) {
+                try {
+                    list.add(result.get());
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                    list.add(failed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
         }
         return list;
     }
@@ -138,70 +441,459 @@ public class FilesReader {
      *         titre-valeur
      */
     public static List<Map<String, String>> readCsvFiles(String absolutePath, List<String> files, List<String> columnTitles) {
-        List<Map<String, String>> datas = new LinkedList<>();
+        List<Map<String, String>> datas = new ArrayList<>();
 
-        boolean readAllColumns = columnTitles == null || columnTitles.isEmpty();
+        for (String fileName : files) {
+            datas.addAll(readCsvFileRows(absolutePath, fileName, columnTitles, null));
+        }
+
+        return datas;
+    }
+
+    /**
+     * readCsvFiles <br>
+     * <p>
+     * Equivalent de {@link #readCsvFiles(String, List, List)} lisant simultanément plusieurs fichiers,
+     * chacun sur son propre thread. Les données sont restituées dans l'ordre des fichiers et l'échec de la
+     * lecture d'un fichier n'interrompt pas celle des autres
+     * </p>
+     *
+     * @param absolutePath adresse des fichiers
+     * @param files        noms de fichiers
+     * @param columnTitles titres des colonnes des données à extraire (extrait toutes les collones si nulle ou vide)
+     * @param parallelism  nombre maximal de fichiers lus simultanément
+     * @return la liste des données associées à chaque colonne sous forme de Map
+     *         titre-valeur
+     */
+    public static List<Map<String, String>> readCsvFiles(String absolutePath, List<String> files, List<String> columnTitles,
+                                                         int parallelism) {
+        return readFilesConcurrently(files, parallelism,
+                fileName -> readCsvFileRows(absolutePath, fileName, columnTitles, null));
+    }
+
+    /**
+     * readCsvFiles <br>
+     * <p>
+     * Charge le contenu de plusieurs fichiers CSV en ne conservant que les lignes dont les valeurs
+     * respectent les conditions données
+     * </p>
+     *
+     * @param absolutePath adresse des fichiers
+     * @param files        noms de fichiers
+     * @param columnTitles titres des colonnes des données à extraire (extrait toutes les collones si nulle ou vide)
+     * @param filters      condition à respecter par la valeur de chaque colonne, par titre de colonne
+     * @return la liste des données retenues associées à chaque colonne sous forme de Map
+     *         titre-valeur
+     * @see #streamCsvFile(String, String, List, Map)
+     */
+    public static List<Map<String, String>> readCsvFiles(String absolutePath, List<String> files, List<String> columnTitles,
+                                                         Map<String, Predicate<String>> filters) {
+        List<Map<String, String>> datas = new ArrayList<>();
 
         for (String fileName : files) {
+            datas.addAll(readCsvFileRows(absolutePath, fileName, columnTitles, filters));
+        }
+
+        return datas;
+    }
+
+    /**
+     * readCsvFileRows <br>
+     *
+     * @return les données du fichier, aucune si la lecture du fichier échoue
+     */
+    private static List<Map<String, String>> readCsvFileRows(String absolutePath, String fileName, List<String> columnTitles,
+                                                             Map<String, Predicate<String>> filters) {
+        // en-tête et données sont lus en une seule passe, le fichier n'est ouvert qu'une fois
+        try (Stream<Map<String, String>> rows = streamCsvFile(absolutePath, fileName, columnTitles, filters)) {
+            List<Map<String, String>> datas = new ArrayList<>();
+            rows.forEachOrdered(datas::add);
+            return datas;
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-            // map associant le titre de la colonne et sa position dans le fichier CSV
-            Map<String, Integer> columnsPositions = new LinkedHashMap<>();
-
-            // récupère la première ligne du CSV pour déterminer la position des colonnes à
-            // extraire
-            try (Stream<String> sourceLines = Files.lines(Paths.get(absolutePath, fileName))) {
-                Optional<String> titleLine = sourceLines.findFirst();
-                if (titleLine.isPresent()) {
-                    String[] columns = titleLine.get().split(CSV_SEPARATOR);
-                    for (int i = 0; i < columns.length; i++) {
-                        if (readAllColumns || columnTitles.contains(columns[i])) {
-                            columnsPositions.put(
-                                    cleanCSVColumnTitle.apply(columns[i]),
-                                    i);
+    /**
+     * readCsvFileAsColumns <br>
+     * <p>
+     * Charge les colonnes souhaitées d'un fichier CSV directement dans des tableaux de types primitifs,
+     * selon le type déclaré pour chaque colonne. Les entiers et booléens sont lus depuis les octets du
+     * fichier sans passer par une chaine de caractères
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @param schema       type de chaque colonne à charger, par titre de colonne
+     * @return les données du fichier colonne par colonne, aucune ligne si le fichier ne peut être lu
+     * @throws NumberFormatException si une valeur ne correspond pas au type déclaré de sa colonne
+     */
+    public static CsvColumns readCsvFileAsColumns(String absolutePath, String fileName, Map<String, CsvColumnType> schema) {
+        try (CsvReader reader = new CsvReader(openInput(Paths.get(absolutePath, fileName)), ENCODING,
+                CSV_SEPARATOR)) {
+            CsvColumns columns = new CsvColumns(schema);
+            CsvHeader header = readCsvHeader(reader, new ArrayList<>(schema.keySet()));
+            if (header != null) {
+                CsvColumns.Column[] slotColumns = new CsvColumns.Column[header.size()];
+                for (int slot = 0; slot < slotColumns.length; slot++) {
+                    slotColumns[slot] = columns.column(header.title(slot));
+                }
+                while (reader.nextRecord()) {
+                    int row = columns.addRow();
+                    for (int slot = 0; slot < slotColumns.length; slot++) {
+                        if (!reader.isEmpty(slot)) {
+                            readColumnValue(reader, slot, slotColumns[slot], row);
                         }
                     }
                 }
+            }
+            columns.trimToSize();
+            return columns;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new CsvColumns(schema);
+        }
+    }
+
+    private static void readColumnValue(CsvReader reader, int slot, CsvColumns.Column column, int row) {
+        switch (column.type()) {
+            case INT -> {
+                long value = reader.parseLong(slot);
+                if (value != (int) value) {
+                    throw new NumberFormatException("Entier hors limites : " + value);
+                }
+                column.setInt(row, (int) value);
+            }
+            case LONG -> column.setLong(row, reader.parseLong(slot));
+            case DOUBLE -> column.setDouble(row, Double.parseDouble(reader.field(slot)));
+            case STRING -> column.setString(row, reader.field(slot));
+            case BOOLEAN -> column.setBoolean(row, reader.parseBoolean(slot));
+        }
+    }
+
+    public static List<Map<String, String>> readCsvFileInParallel(String absolutePath, String fileName) {
+        return readCsvFileInParallel(absolutePath, fileName, Collections.emptyList());
+    }
+
+    /**
+     * readCsvFileInParallel <br>
+     * <p>
+     * Charge le contenu d'un fichier CSV volumineux en répartissant l'analyse des lignes
+     * sur tous les coeurs disponibles. Le fichier est découpé en plages alignées sur les sauts de ligne,
+     * chaque plage étant lue par lectures positionnées ; les données sont restituées dans l'ordre du fichier
+     * </p>
+     * <p>
+     * Le découpage se faisant sur les sauts de ligne, les champs entre guillemets ne doivent pas contenir de
+     * saut de ligne : un tel champ serait découpé en deux lignes erronées
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @param columnTitles titres des colonnes des données à extraire (extrait toutes les collones si nulle ou vide)
+     * @return la liste des données associées à chaque colonne sous forme de Map titre-valeur
+     * @see CsvParallelParser
+     */
+    public static List<Map<String, String>> readCsvFileInParallel(String absolutePath, String fileName, List<String> columnTitles) {
+        try {
+            return CsvParallelParser.parse(Paths.get(absolutePath, fileName), columnTitles, ENCODING, CSV_SEPARATOR,
+                    ForkJoinPool.commonPool());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    public static List<Map<String, String>> findInSortedCsvFile(String absolutePath, String fileName, String keyColumn,
+                                                              String key) {
+        return findInSortedCsvFile(absolutePath, fileName, keyColumn, key, Comparator.naturalOrder());
+    }
+
+    /**
+     * findInSortedCsvFile <br>
+     * <p>
+     * Recherche par dichotomie les lignes d'un fichier CSV trié sur une colonne clé, sans index et sans
+     * charger le fichier : le fichier est projeté en mémoire une seule fois et seules quelques lignes sont lues,
+     * directement dans la projection
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier, trié sur la colonne clé
+     * @param keyColumn    titre de la colonne clé
+     * @param key          valeur de la clé recherchée
+     * @param keyOrder     ordre de tri du fichier sur la colonne clé (ordre lexicographique par défaut)
+     * @return la liste des lignes dont la colonne clé a la valeur recherchée, sous forme de Map titre-valeur
+     * @see CsvBinarySearch
+     */
+    public static List<Map<String, String>> findInSortedCsvFile(String absolutePath, String fileName, String keyColumn,
+                                                              String key, Comparator<String> keyOrder) {
+        try {
+            return CsvBinarySearch.find(Paths.get(absolutePath, fileName), keyColumn, key, keyOrder, ENCODING,
+                    CSV_SEPARATOR);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * aggregateCsvFiles <br>
+     * <p>
+     * Regroupe en une seule passe les lignes de plusieurs fichiers CSV par valeurs des colonnes clés et calcule
+     * pour chaque groupe le nombre de lignes ainsi que la somme, le minimum, le maximum et la moyenne de chaque
+     * colonne de valeurs. Seuls les groupes sont conservés en mémoire : chaque fichier est découpé en plages
+     * agrégées en parallèle, dont les résultats partiels sont fusionnés
+     * </p>
+     *
+     * @param absolutePath adresse des fichiers
+     * @param files        noms des fichiers
+     * @param keyColumns   titres des colonnes clés (valeur vide si la colonne est absente d'un fichier)
+     * @param valueColumns titres des colonnes de valeurs numériques
+     * @return les statistiques de chaque groupe, par valeurs des colonnes clés
+     * @throws NumberFormatException si une valeur n'est pas numérique
+     * @see CsvParallelParser
+     */
+    public static Map<List<String>, CsvGroupStatistics> aggregateCsvFiles(String absolutePath, List<String> files,
+                                                                         List<String> keyColumns, List<String> valueColumns) {
+        List<String> columnTitles = new ArrayList<>(new LinkedHashSet<>(keyColumns));
+        valueColumns.stream().filter(title -> !columnTitles.contains(title)).forEach(columnTitles::add);
+
+        Map<List<String>, CsvGroupStatistics> groups = new LinkedHashMap<>();
+        for (String fileName : files) {
+            try {
+                CsvParallelParser.parseRanges(Paths.get(absolutePath, fileName), columnTitles, ENCODING, CSV_SEPARATOR,
+                                ForkJoinPool.commonPool(),
+                                (reader, header) -> CsvGroupStatistics.aggregate(reader, header, keyColumns, valueColumns))
+                        .forEach(partial -> CsvGroupStatistics.merge(groups, partial));
             } catch (IOException e) {
                 e.printStackTrace();
             }
+        }
+        return groups;
+    }
 
-            // récupère les données
-            if (!columnsPositions.isEmpty()) {
-                try (Stream<String> sourceLines = Files.lines(Paths.get(absolutePath, fileName))) {
-                    datas.addAll(sourceLines.skip(1).map(line -> extractColumnsOfCsvLine(line, columnsPositions))
-                            .collect(Collectors.toList()));
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+    public static Stream<Map<String, String>> streamCsvFile(String absolutePath, String fileName) {
+        return streamCsvFile(absolutePath, fileName, Collections.emptyList());
+    }
+
+    public static Stream<Map<String, String>> streamCsvFiles(String absolutePath, List<String> files, List<String> columnTitles) {
+        // flatMap ferme chaque flux de fichier dès qu'il a été entièrement consommé
+        return files.stream().flatMap(fileName -> streamCsvFile(absolutePath, fileName, columnTitles));
+    }
+
+    /**
+     * streamCsvFile <br>
+     * <p>
+     * Ouvre un fichier CSV et restitue ses lignes au fur et à mesure de leur lecture,
+     * sans charger le fichier en mémoire. Le fichier est fermé à la fermeture du flux,
+     * qui doit donc être utilisé dans un try-with-resources
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @param columnTitles titres des colonnes des données à extraire (extrait toutes les collones si nulle ou vide)
+     * @return un flux des données associées à chaque colonne sous forme de Map titre-valeur,
+     * vide si le fichier ne peut être lu ou ne contient aucune des colonnes souhaitées
+     */
+    public static Stream<Map<String, String>> streamCsvFile(String absolutePath, String fileName, List<String> columnTitles) {
+        return streamCsvFile(absolutePath, fileName, columnTitles, null);
+    }
+
+    /**
+     * streamCsvFile <br>
+     * <p>
+     * Equivalent de {@link #streamCsvFile(String, String, List)} ne restituant que les lignes dont les
+     * valeurs respectent les conditions données. Les conditions sont testées dès le découpage de la ligne,
+     * avant décodage des autres colonnes et construction de la Map : les lignes écartées ne coûtent ni
+     * allocation ni décodage. Une ligne dont une colonne filtrée est absente est écartée
+     * </p>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @param columnTitles titres des colonnes des données à extraire (extrait toutes les collones si nulle ou vide)
+     * @param filters      condition à respecter par la valeur de chaque colonne, par titre de colonne (les colonnes
+     *                     filtrées ne sont pas nécessairement extraites), null ou vide si toutes les lignes sont conservées
+     * @return un flux des lignes retenues sous forme de Map titre-valeur
+     */
+    public static Stream<Map<String, String>> streamCsvFile(String absolutePath, String fileName, List<String> columnTitles,
+                                                            Map<String, Predicate<String>> filters) {
+        CsvReader reader = null;
+        try {
+            reader = new CsvReader(openInput(Paths.get(absolutePath, fileName)), ENCODING, CSV_SEPARATOR);
+
+            // la première ligne du CSV détermine la position des colonnes à extraire
+            CsvRowFilter filter = filters != null && !filters.isEmpty() ? new CsvRowFilter(filters) : null;
+            CsvHeader header = readCsvHeader(reader, columnTitles, filter);
+            if (header == null) {
+                reader.close();
+                return Stream.empty();
             }
+            return streamCsvRows(reader, header, filter);
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeQuietly(reader);
+            return Stream.empty();
+        }
+    }
 
+    /**
+     * readCsvTitles <br>
+     *
+     * @param absolutePath adresse du fichier
+     * @param fileName     nom du fichier
+     * @return les titres nettoyés des colonnes du fichier, vide si le fichier est vide
+     * @throws IOException en cas d'erreur de lecture du fichier
+     */
+    static List<String> readCsvTitles(String absolutePath, String fileName) throws IOException {
+        try (CsvReader reader = new CsvReader(openInput(Paths.get(absolutePath, fileName)), ENCODING,
+                CSV_SEPARATOR)) {
+            String[] titles = reader.readRecord();
+            return titles != null ? new ArrayList<>(extractColumnsPositions(titles, null).keySet()) : new ArrayList<>();
         }
+    }
 
-        return datas;
+    /**
+     * readCsvFilesHeader <br>
+     *
+     * @param absolutePath adresse des fichiers
+     * @param files        noms des fichiers
+     * @return l'index de l'ensemble des colonnes des fichiers, dans l'ordre de leur première apparition
+     * @throws IOException en cas d'erreur de lecture d'un fichier
+     */
+    static CsvHeader readCsvFilesHeader(String absolutePath, List<String> files) throws IOException {
+        Map<String, Integer> columnsPositions = new LinkedHashMap<>();
+        for (String fileName : files) {
+            for (String title : readCsvTitles(absolutePath, fileName)) {
+                columnsPositions.putIfAbsent(title, columnsPositions.size());
+            }
+        }
+        return CsvHeader.of(columnsPositions);
     }
 
-    private static Function<String, String> cleanCSVColumnTitle = columnTitle -> columnTitle
-            .replace("\uFEFF", "")  // BOM UTF-8
-            .replace("\"", "")      // guillemets
-            .trim();                                // espaces, \r, \n, \t
+    /**
+     * readCsvHeader <br>
+     * <p>
+     * Lit la ligne de titres d'un fichier CSV et restreint le découpage des lignes suivantes
+     * aux colonnes à extraire
+     * </p>
+     *
+     * @param reader       découpeur positionné au début du fichier
+     * @param columnTitles titres des colonnes des données à extraire (toutes les colonnes si nulle ou vide)
+     * @return l'index des colonnes extraites, partagé par toutes les lignes du fichier, null si le fichier
+     * est vide ou ne contient aucune des colonnes souhaitées
+     */
+    static CsvHeader readCsvHeader(CsvReader reader, List<String> columnTitles) throws IOException {
+        return readCsvHeader(reader, columnTitles, null);
+    }
 
     /**
-     * extractColumnsOfCsvLine <br>
+     * readCsvHeader <br>
      * <p>
-     * Découpe les données selon le séparateur et extrait uniquement les colones
-     * souhaitées
+     * Lit la ligne de titres d'un fichier CSV et restreint le découpage des lignes suivantes
+     * aux colonnes à extraire et aux colonnes filtrées
      * </p>
      *
-     * @param line             ligne de données au format csv
-     * @param columnsPositions map associant le titre des colonnes et leur position
-     * @return les données sous forme de map titre-donée
+     * @param reader       découpeur positionné au début du fichier
+     * @param columnTitles titres des colonnes des données à extraire (toutes les colonnes si nulle ou vide)
+     * @param filter       filtre des lignes, null si toutes les lignes sont conservées
+     * @return l'index des colonnes extraites, partagé par toutes les lignes du fichier, null si le fichier
+     * est vide ou ne contient aucune des colonnes souhaitées
      */
-    private static Map<String, String> extractColumnsOfCsvLine(String line, Map<String, Integer> columnsPositions) {
-        Map<String, String> datas = new LinkedHashMap<>();
-        String[] rawDatas = line.split(CSV_SEPARATOR);
-        columnsPositions.entrySet().stream().filter(entry -> entry.getValue() < rawDatas.length).forEach(entry -> datas.put(entry.getKey(), rawDatas[entry.getValue()]));
-        return datas;
+    static CsvHeader readCsvHeader(CsvReader reader, List<String> columnTitles, CsvRowFilter filter) throws IOException {
+        String[] titles = reader.readRecord();
+        if (titles == null) {
+            return null;
+        }
+        Map<String, Integer> columnsPositions = extractColumnsPositions(titles, columnTitles);
+        if (columnsPositions.isEmpty()) {
+            return null;
+        }
+        CsvHeader header = CsvHeader.of(columnsPositions);
+        if (filter != null) {
+            String[] cleanedTitles = Arrays.stream(titles).map(cleanCSVColumnTitle).toArray(String[]::new);
+            reader.project(filter.bind(cleanedTitles, header));
+        } else {
+            reader.project(header.positions());
+        }
+        reader.useDictionary(createDictionary());
+        return header;
     }
 
-}
+    /**
+     * streamCsvRows <br>
+     * <p>
+     * Restitue au fil de la lecture les lignes de données d'un fichier CSV. Le découpeur est fermé à la
+     * fermeture du flux
+     * </p>
+     *
+     * @param reader découpeur positionné sur la première ligne de données
+     * @param header index des colonnes extraites
+     * @param filter filtre des lignes, null si toutes les lignes sont conservées
+     * @return le flux des lignes sous forme de Map titre-valeur
+     */
+    private static Stream<Map<String, String>> streamCsvRows(CsvReader reader, CsvHeader header, CsvRowFilter filter) {
+        Spliterator<Map<String, String>> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Map<String, String>> action) {
+                try {
+                    do {
+                        if (!reader.nextRecord()) {
+                            return false;
+                        }
+                    } while (filter != null && !filter.accept(reader));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(filter != null ? filter.toRow(reader, header) : reader.toRow(header));
+                return true;
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
+    /**
+     * extractColumnsPositions <br>
+     * <p>
+     * Détermine à partir de la ligne de titres la position des colonnes à extraire
+     * </p>
+     *
+     * @param titles       titres des colonnes de la première ligne du fichier CSV
+     * @param columnTitles titres des colonnes des données à extraire (toutes les colonnes si nulle ou vide)
+     * @return map associant le titre de la colonne et sa position dans le fichier CSV
+     */
+    static Map<String, Integer> extractColumnsPositions(String[] titles, List<String> columnTitles) {
+        boolean readAllColumns = columnTitles == null || columnTitles.isEmpty();
+
+        Map<String, Integer> columnsPositions = new LinkedHashMap<>();
+        for (int i = 0; i < titles.length; i++) {
+            String title = cleanCSVColumnTitle.apply(titles[i]);
+            if (readAllColumns || columnTitles.contains(titles[i]) || columnTitles.contains(title)) {
+                columnsPositions.put(title, i);
+            }
+        }
+        return columnsPositions;
+    }
+
+    private static void closeQuietly(CsvReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static Function<String, String> cleanCSVColumnTitle = columnTitle -> columnTitle
+            .replace("\uFEFF", "")  // BOM UTF-8
+            .replace("\"", "")      // guillemets
+            .trim();                                // espaces, \r, \n, \t
+
+}
@@ -0,0 +1,236 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * FilesTailer <br>
+ * <p>
+ * Lecture incrémentale de fichiers alimentés en continu (logs...) : pour chaque fichier, la position
+ * du dernier octet traité est mémorisée dans un fichier de points de reprise, si bien que chaque
+ * lecture ne traite que les lignes ajoutées depuis la précédente
+ * </p>
+ * <div>
+ * <ul>
+ * <li>seules les lignes complètes (terminées par un saut de ligne) sont traitées, une ligne en cours
+ * d'écriture l'étant à la lecture suivante</li>
+ * <li>une empreinte du début de chaque fichier est mémorisée avec sa position : un fichier tronqué ou
+ * remplacé (rotation) est relu depuis le début</li>
+ * </ul>
+ * </div>
+ * <p>
+ * Les fichiers sont lus tels quels, sans décompression. Une instance ne doit pas être utilisée simultanément
+ * depuis plusieurs threads
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public class FilesTailer {
+
+    /**
+     * nombre d'octets du début du fichier servant d'empreinte
+     */
+    private static final int FINGERPRINT_SIZE = 1024;
+    private static final String CHECKPOINT_SEPARATOR = ";";
+
+    private final Path checkpointsFile;
+    private final Properties checkpoints = new Properties();
+
+    /**
+     * FilesTailer <br>
+     * <p>
+     * Charge les points de reprise enregistrés lors des lectures précédentes
+     * </p>
+     *
+     * @param absolutePath       adresse du fichier de points de reprise
+     * @param checkpointFileName nom du fichier de points de reprise, créé à la première lecture
+     */
+    public FilesTailer(String absolutePath, String checkpointFileName) {
+        this.checkpointsFile = Paths.get(absolutePath, checkpointFileName);
+        if (Files.exists(checkpointsFile)) {
+            try (InputStream input = Files.newInputStream(checkpointsFile)) {
+                checkpoints.load(input);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * readAndInterpretNewLinesInFiles <br>
+     * <p>
+     * Equivalent de {@link FilesReader#readAndInterpretLinesInFiles(String, List, String, Function)} ne
+     * traitant que les lignes ajoutées aux fichiers depuis la lecture précédente. Les points de reprise
+     * sont enregistrés à l'issue de la lecture
+     * </p>
+     *
+     * @param <R>              type d'objet à instancier à partir des données des
+     *                         fichiers
+     * @param path             adresse des fichiers
+     * @param files            noms des fichiers
+     * @param patternToExtract motif à extraire dans chaque ligne
+     * @param interpreter      fonction instanciant un objet à partir des données
+     *                         issues de chaque ligne
+     * @return une liste d'objet de type <R> issus des nouvelles lignes
+     */
+    public <R> List<R> readAndInterpretNewLinesInFiles(String path, List<String> files, String patternToExtract,
+                                                       Function<String, R> interpreter) {
+        Pattern pattern = Pattern.compile(patternToExtract);
+        LiteralPrefilter prefilter = LiteralPrefilter.of(patternToExtract, FilesReader.getEncoding());
+
+        List<R> list = new ArrayList<>();
+        for (String fileName : files) {
+            List<R> fileList = new ArrayList<>();
+            try {
+                readNewLines(Paths.get(path, fileName), pattern, prefilter, interpreter, fileList::add);
+                list.addAll(fileList);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        saveCheckpoints();
+        return list;
+    }
+
+    /**
+     * follow <br>
+     * <p>
+     * Suit un fichier en continu : les lignes ajoutées sont lues à intervalle régulier et les objets
+     * instanciés transmis au consommateur, les points de reprise étant enregistrés après chaque lecture.
+     * La méthode rend la main lorsque le thread est interrompu
+     * </p>
+     *
+     * @param <R>              type d'objet à instancier à partir des données du
+     *                         fichier
+     * @param path             adresse du fichier
+     * @param fileName         nom du fichier
+     * @param patternToExtract motif à extraire dans chaque ligne
+     * @param interpreter      fonction instanciant un objet à partir des données
+     *                         issues de chaque ligne
+     * @param consumer         destinataire des objets instanciés
+     * @param pollMillis       intervalle entre deux lectures, en millisecondes
+     */
+    public <R> void follow(String path, String fileName, String patternToExtract, Function<String, R> interpreter,
+                           Consumer<R> consumer, long pollMillis) {
+        Pattern pattern = Pattern.compile(patternToExtract);
+        LiteralPrefilter prefilter = LiteralPrefilter.of(patternToExtract, FilesReader.getEncoding());
+        Path file = Paths.get(path, fileName);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (Files.exists(file) && readNewLines(file, pattern, prefilter, interpreter, consumer)) {
+                    saveCheckpoints();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            // attente y compris après une erreur de lecture (fichier illisible, rotation en cours...)
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * readNewLines <br>
+     * <p>
+     * Traite les lignes complètes ajoutées au fichier depuis le point de reprise et met à jour ce dernier
+     * </p>
+     *
+     * @return true si le point de reprise a changé
+     */
+    private <R> boolean readNewLines(Path file, Pattern pattern, LiteralPrefilter prefilter,
+                                     Function<String, R> interpreter, Consumer<R> consumer) throws IOException {
+        String key = file.toAbsolutePath().normalize().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = startOffset(channel, checkpoints.getProperty(key));
+            if (offset == channel.size()) {
+                return false;
+            }
+
+            channel.position(offset);
+            // le flux n'est pas fermé séparément, il l'est avec le canal
+            LineReader reader = new LineReader(Channels.newInputStream(channel), FilesReader.getEncoding(), offset);
+            long newOffset = FilesReader.interpretLines(reader, pattern, prefilter, interpreter, consumer, true);
+            if (newOffset == offset) {
+                return false;
+            }
+
+            int fingerprintLength = (int) Math.min(FINGERPRINT_SIZE, newOffset);
+            checkpoints.setProperty(key, newOffset + CHECKPOINT_SEPARATOR + fingerprintLength
+                    + CHECKPOINT_SEPARATOR + fingerprint(channel, fingerprintLength));
+            return true;
+        }
+    }
+
+    /**
+     * startOffset <br>
+     *
+     * @param checkpoint point de reprise du fichier (position;taille de l'empreinte;empreinte), null si absent
+     * @return la position à partir de laquelle lire le fichier, 0 s'il n'a jamais été lu, s'il a été tronqué
+     * ou si son début a changé
+     */
+    private static long startOffset(FileChannel channel, String checkpoint) throws IOException {
+        if (checkpoint == null) {
+            return 0;
+        }
+        String[] values = checkpoint.split(CHECKPOINT_SEPARATOR);
+        long offset = Long.parseLong(values[0]);
+        int fingerprintLength = Integer.parseInt(values[1]);
+        long fingerprint = Long.parseLong(values[2]);
+        if (channel.size() < offset || fingerprint(channel, fingerprintLength) != fingerprint) {
+            return 0;
+        }
+        return offset;
+    }
+
+    private static long fingerprint(FileChannel channel, int length) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(length);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // lecture du début du fichier
+        }
+        CRC32 crc = new CRC32();
+        crc.update(head.flip());
+        return crc.getValue();
+    }
+
+    /**
+     * saveCheckpoints <br>
+     * <p>
+     * Enregistre les points de reprise dans un fichier temporaire substitué ensuite au fichier existant
+     * </p>
+     */
+    private void saveCheckpoints() {
+        try {
+            Path temporaryFile = Files.createTempFile(checkpointsFile.toAbsolutePath().getParent(),
+                    checkpointsFile.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                checkpoints.store(output, "Points de reprise de " + FilesTailer.class.getSimpleName());
+            }
+            Files.move(temporaryFile, checkpointsFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -1,23 +1,42 @@
 package filesmanager;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * FilesWriter <br>
  * <p>
  * Créé ou complète les données dans un fichier
  * </p>
+ * <p>
+ * Un fichier dont le nom se termine par l'extension .gz est écrit compressé au format gzip. L'ajout à la
+ * suite du contenu existant y ajoute un nouveau membre gzip, le fichier restant lisible d'un seul tenant
+ * </p>
  *
  * @author a-ramade
  * @since 11/2022
@@ -40,8 +59,23 @@ public class FilesWriter {
     private static Charset ENCODING = StandardCharsets.UTF_8;
     private static String CSV_SEPARATOR = ";";
     private static String LINE_BREAK = "\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
 
+    /**
+     * setEncoding <br>
+     * <p>
+     * Définit l'encodage des fichiers écrits. Les fichiers relus par {@link this#replaceLinesInFile(String, String, Map)}
+     * étant découpés octet par octet, l'encodage doit coder les caractères ASCII sur un octet de même valeur
+     * (UTF-8, ISO-8859-1, windows-1252...)
+     * </p>
+     *
+     * @param encoding encodage des fichiers
+     * @throws IllegalArgumentException si l'encodage n'est pas compatible ASCII (UTF-16...)
+     */
     public static void setEncoding(Charset encoding) {
+        if (!TextDecoder.isAsciiCompatible(encoding)) {
+            throw new IllegalArgumentException("Encodage non compatible ASCII : " + encoding);
+        }
         ENCODING = encoding;
     }
 
@@ -53,6 +87,20 @@ public class FilesWriter {
         LINE_BREAK = lineBreak;
     }
 
+    /**
+     * @return l'encodage des fichiers écrits
+     */
+    static Charset getEncoding() {
+        return ENCODING;
+    }
+
+    /**
+     * @return le saut de ligne des fichiers écrits
+     */
+    static String getLineBreak() {
+        return LINE_BREAK;
+    }
+
     /** ***** ***** METHODES DE TRAITEMENT ***** ***** */
 
     /**
@@ -74,8 +122,18 @@ public class FilesWriter {
         Path path = Paths.get(absolutePath, fileName);
 
         try {
-            Files.write(path, lines, ENCODING, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
-                    overwriteOrAddToExistingContentOption);
+            if (isCompressed(path)) {
+                try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                        openCompressedOutput(path, overwriteOrAddToExistingContentOption), ENCODING.newEncoder()))) {
+                    for (String line : lines) {
+                        writer.append(line);
+                        writer.newLine();
+                    }
+                }
+            } else {
+                Files.write(path, lines, ENCODING, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        overwriteOrAddToExistingContentOption);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -95,12 +153,22 @@ public class FilesWriter {
      *                                              existant)
      * @see {@link FileChannel}
      * @see {@link FileChannel#write(ByteBuffer)}
+     * @see {@link FilesAppender} pour des ajouts fréquents, synchronisés sur disque par lot
      */
     public static void writeFile(String absolutePath, String fileName, String datas,
                                  OpenOption overwriteOrAddToExistingContentOption) {
+        Path path = Paths.get(absolutePath, fileName);
+        if (isCompressed(path)) {
+            try (OutputStream output = openCompressedOutput(path, overwriteOrAddToExistingContentOption)) {
+                output.write(datas.getBytes(ENCODING));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
         ByteBuffer datasBuffer = ByteBuffer.wrap(datas.getBytes(ENCODING));
 
-        try (FileChannel writer = FileChannel.open(Paths.get(absolutePath, fileName), StandardOpenOption.CREATE,
+        try (FileChannel writer = FileChannel.open(path, StandardOpenOption.CREATE,
                 StandardOpenOption.WRITE, StandardOpenOption.SYNC, overwriteOrAddToExistingContentOption)) {
             // writer.position(writer.size());
             writer.write(datasBuffer);
@@ -109,6 +177,27 @@ public class FilesWriter {
         }
     }
 
+    private static boolean isCompressed(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(FilesReader.COMPRESSED_EXTENSION);
+    }
+
+    /**
+     * openCompressedOutput <br>
+     *
+     * @return un flux compressant au format gzip les données écrites dans le fichier
+     */
+    private static OutputStream openCompressedOutput(Path path, OpenOption overwriteOrAddToExistingContentOption)
+            throws IOException {
+        OutputStream output = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                overwriteOrAddToExistingContentOption);
+        try {
+            return new GZIPOutputStream(output, WRITE_BUFFER_SIZE);
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+
     /**
      * writeCsvFile <br>
      * <p>
@@ -120,17 +209,12 @@ public class FilesWriter {
      * @param datas                                 contenu à formatter
      * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
      *                                              existant)
-     * @see {@link this#generateCsvContent(Collection, List, boolean)}
-     * @see {@link this#writeFile(String, String, String, OpenOption)}
+     * @see {@link this#writeCsvFile(String, String, Iterator, List, OpenOption)}
      */
     public static void writeCsvFile(String absolutePath, String fileName, Collection<Map<String, String>> datas,
                                     OpenOption overwriteOrAddToExistingContentOption) {
 
-        // affiche les titres sur la première ligne si option 'écraser fichier existant'
-        // si option 'compléter le contenu à la suite', pas affichage des titres
-        writeFile(absolutePath, fileName,
-                generateCsvContent(datas, Collections.EMPTY_LIST,
-                        OVERWRITE_EXISTING_CONTENT.equals(overwriteOrAddToExistingContentOption)),
+        writeCsvFile(absolutePath, fileName, datas.iterator(), Collections.emptyList(),
                 overwriteOrAddToExistingContentOption);
     }
 
@@ -146,17 +230,134 @@ public class FilesWriter {
      * @param columnTitles                          liste des titres des colonnes
      * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
      *                                              existant)
-     * @see {@link this#generateCsvContent(Collection, List, boolean)}
-     * @see {@link this#writeFile(String, String, String, OpenOption)}
+     * @see {@link this#writeCsvFile(String, String, Iterator, List, OpenOption)}
      */
     public static void writeCsvFile(String absolutePath, String fileName, Collection<Map<String, String>> datas,
                                     List<String> columnTitles, OpenOption overwriteOrAddToExistingContentOption) {
 
-        // affiche les titres sur la première ligne si option 'écraser fichier existant'
-        // si option 'compléter le contenu à la suite', pas affichage des titres
-        writeFile(absolutePath, fileName,
-                generateCsvContent(datas, columnTitles,
-                        OVERWRITE_EXISTING_CONTENT.equals(overwriteOrAddToExistingContentOption)),
+        writeCsvFile(absolutePath, fileName, datas.iterator(), columnTitles, overwriteOrAddToExistingContentOption);
+    }
+
+    /**
+     * writeCsvFile <br>
+     * <p>
+     * Formate et écrit au fil de l'eau dans un fichier des données au format CSV
+     * </p>
+     *
+     * @param absolutePath                          adresse absolue du fichier
+     * @param fileName                              nom du fichier avec son extension
+     * @param datas                                 flux des lignes à formatter, fermé une fois écrit
+     * @param columnTitles                          liste des titres des colonnes (titres de la première
+     *                                              ligne si nulle ou vide)
+     * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
+     *                                              existant)
+     * @see {@link this#writeCsvFile(String, String, Iterator, List, OpenOption)}
+     */
+    public static void writeCsvFile(String absolutePath, String fileName, Stream<? extends Map<String, String>> datas,
+                                    List<String> columnTitles, OpenOption overwriteOrAddToExistingContentOption) {
+        try (datas) {
+            writeCsvFile(absolutePath, fileName, datas.iterator(), columnTitles, overwriteOrAddToExistingContentOption);
+        }
+    }
+
+    /**
+     * writeCsvFile <br>
+     * <p>
+     * Formate et écrit au fil de l'eau dans un fichier des données au format CSV : chaque ligne est encodée
+     * dans un buffer réutilisé, vidé dans le fichier dès qu'il est plein. Seule la ligne en cours est en
+     * mémoire, quel que soit le nombre de lignes écrites
+     * </p>
+     * <p>
+     * La ligne de titres n'est écrite qu'avec l'option 'écraser fichier existant', les lignes suivant un
+     * contenu existant étant ajoutées après un saut de ligne
+     * </p>
+     *
+     * @param absolutePath                          adresse absolue du fichier
+     * @param fileName                              nom du fichier avec son extension
+     * @param datas                                 lignes à formatter
+     * @param columnTitles                          liste des titres des colonnes (titres de la première
+     *                                              ligne si nulle ou vide)
+     * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
+     *                                              existant)
+     * @see {@link CsvChannelWriter}
+     */
+    public static void writeCsvFile(String absolutePath, String fileName, Iterator<? extends Map<String, String>> datas,
+                                    List<String> columnTitles, OpenOption overwriteOrAddToExistingContentOption) {
+        Map<String, String> firstRow = datas.hasNext() ? datas.next() : null;
+        List<String> titles = columnTitles != null && !columnTitles.isEmpty() ? columnTitles
+                : firstRow != null ? List.copyOf(firstRow.keySet()) : null;
+        if (titles == null) {
+            // aucune ligne ni titre à écrire
+            return;
+        }
+
+        try (CsvChannelWriter writer = openCsvWriter(Paths.get(absolutePath, fileName), titles,
+                overwriteOrAddToExistingContentOption)) {
+            // affiche les titres sur la première ligne si option 'écraser fichier existant'
+            // si option 'compléter le contenu à la suite', pas affichage des titres
+            writer.writeHeader(OVERWRITE_EXISTING_CONTENT.equals(overwriteOrAddToExistingContentOption));
+            if (firstRow != null) {
+                writer.writeRow(firstRow);
+            }
+            while (datas.hasNext()) {
+                writer.writeRow(datas.next());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * openWriter <br>
+     * <p>
+     * Ouvre un flux d'écriture de texte selon l'encodage courant, compressé si le fichier est compressé.
+     * Contrairement à writeFile, les erreurs d'écriture sont transmises à l'appelant
+     * </p>
+     *
+     * @param path                                  chemin du fichier
+     * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
+     *                                              existant)
+     * @return le flux d'écriture du fichier
+     */
+    static BufferedWriter openWriter(Path path, OpenOption overwriteOrAddToExistingContentOption) throws IOException {
+        if (isCompressed(path)) {
+            return new BufferedWriter(new OutputStreamWriter(openCompressedOutput(path, overwriteOrAddToExistingContentOption),
+                    ENCODING.newEncoder()));
+        }
+        return Files.newBufferedWriter(path, ENCODING, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                overwriteOrAddToExistingContentOption);
+    }
+
+    /**
+     * openCsvWriter <br>
+     * <p>
+     * Ouvre un écrivain de lignes CSV selon l'encodage, le séparateur et le saut de ligne courants. Contrairement
+     * à writeCsvFile, les erreurs d'écriture sont transmises à l'appelant
+     * </p>
+     *
+     * @param path                                  chemin du fichier
+     * @param titles                                titres ordonnés des colonnes écrites
+     * @param overwriteOrAddToExistingContentOption option d'écriture (écrasement ou ajout à la suite du contenu
+     *                                              existant)
+     * @return l'écrivain, dont la ligne de titres reste à écrire
+     */
+    static CsvChannelWriter openCsvWriter(Path path, List<String> titles, OpenOption overwriteOrAddToExistingContentOption)
+            throws IOException {
+        return new CsvChannelWriter(openChannel(path, overwriteOrAddToExistingContentOption), ENCODING, CSV_SEPARATOR,
+                LINE_BREAK, titles);
+    }
+
+    /**
+     * openChannel <br>
+     *
+     * @return le canal d'écriture du fichier, compressant les données si le fichier est compressé
+     */
+    private static WritableByteChannel openChannel(Path path, OpenOption overwriteOrAddToExistingContentOption)
+            throws IOException {
+        if (isCompressed(path)) {
+            return Channels.newChannel(openCompressedOutput(path, overwriteOrAddToExistingContentOption));
+        }
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
                 overwriteOrAddToExistingContentOption);
     }
 
@@ -170,12 +371,17 @@ public class FilesWriter {
      * <li>ajoute les noms des colones dans la première ligne si demandé en
      * paramètre</li>
      * <li>ajoute un saut de ligne</li>
-     * <li>filtre les valeurs en fonction des titres des colonnes attendues</li>
-     * <li>ordonne les valeurs selon la liste des titres des colonnes</li>
+     * <li>lit les valeurs dans l'ordre de la liste des titres des colonnes, une valeur absente étant
+     * laissée vide</li>
+     * <li>place entre guillemets les valeurs contenant le séparateur, un guillemet ou un saut de ligne</li>
      * <li>joint les valeurs en intercalant le séparateur</li>
      * <li>joint les lignes en intercalant le saut de ligne</li>
      * </ul>
      * </div>
+     * <p>
+     * Les Map transmises ne sont pas modifiées. Chaque ligne est formatée par le même appendCsvLine que les
+     * lignes des fichiers écrits par writeCsvFile, selon les mêmes règles de saut de ligne
+     * </p>
      *
      * @param datas                  contenu à formatter sous la forme d'une collection de Map
      * @param columnTitles           liste ordonnée des titres des colones
@@ -188,36 +394,76 @@ public class FilesWriter {
 
         final List<String> titles = (columnTitles != null && !columnTitles.isEmpty())
                 ? columnTitles
-                : datas.stream().findAny().get().keySet().stream().toList();
+                : datas.stream().findAny().map(row -> List.copyOf(row.keySet())).orElse(Collections.emptyList());
 
         StringBuilder csvContent = new StringBuilder();
         if (writeTitlesOnFirstLine) {
-            csvContent.append(titles.stream().collect(Collectors.joining(CSV_SEPARATOR)));
+            appendCsvLine(csvContent, titles, title -> title, CSV_SEPARATOR);
         }
         csvContent.append(LINE_BREAK);
 
-        //complète les données manquantes avec des chaines vides si nécéssaire
-        // afin qu'il n'y ai pas de décalage dans les colones du fichier
-        titles.stream().forEach(title -> datas.stream().forEach(mapData -> {
-            if (!mapData.containsKey(title)) {
-                mapData.put(title, "");
+        // pour chaque map de la liste, les valeurs sont lues dans l'ordre des titres des colonnes
+        // (une valeur manquante est laissée vide afin qu'il n'y ait pas de décalage dans les colonnes du fichier)
+        boolean firstLine = true;
+        for (Map<String, String> mapData : datas) {
+            if (!firstLine) {
+                csvContent.append(LINE_BREAK);
             }
-        }));
-
-        // pour chaque map de la liste :
-        csvContent.append(datas.stream().map(map -> map.entrySet().stream()
-                        // filtre les valeurs attendues dans la liste des titres des colonnes
-                        .filter(entry -> titles.contains(entry.getKey())).sorted((entr1, entr2) -> {
-                            // ordonne les valeurs selon la liste des titres des colonnes
-                            return titles.indexOf(entr1.getKey()) > titles.indexOf(entr2.getKey()) ? 1 : -1;
-                            // récupère les valeurs et les concatène en intercalant le séparateur
-                        }).map(entry -> entry.getValue()).collect(Collectors.joining(CSV_SEPARATOR)))
-                // puis concatène chaque ligne en intercalant un saut de ligne
-                .collect(Collectors.joining(LINE_BREAK)));
-
+            appendCsvLine(csvContent, titles, mapData::get, CSV_SEPARATOR);
+            firstLine = false;
+        }
         return csvContent.toString();
     }
 
+    /**
+     * appendCsvLine <br>
+     * <p>
+     * Ajoute une ligne au contenu CSV en intercalant le séparateur entre les valeurs
+     * </p>
+     *
+     * @param csvContent contenu CSV
+     * @param titles     liste ordonnée des titres des colonnes
+     * @param values     valeur de chaque colonne par titre, null si la colonne est vide
+     * @param separator  séparateur des colonnes
+     */
+    static void appendCsvLine(StringBuilder csvContent, List<String> titles, Function<String, String> values,
+                              String separator) {
+        boolean firstValue = true;
+        for (String title : titles) {
+            if (!firstValue) {
+                csvContent.append(separator);
+            }
+            String value = values.apply(title);
+            if (value != null) {
+                csvContent.append(escapeCsvValue(value, separator));
+            }
+            firstValue = false;
+        }
+    }
+
+    /**
+     * escapeCsvValue <br>
+     * <p>
+     * Place une valeur entre guillemets, en doublant ses guillemets, si elle contient le séparateur,
+     * un guillemet ou un saut de ligne (RFC 4180), afin qu'elle soit relue à l'identique
+     * </p>
+     *
+     * @param value     valeur d'une colonne
+     * @param separator séparateur des colonnes
+     * @return la valeur à écrire dans le fichier
+     */
+    static String escapeCsvValue(String value, String separator) {
+        if (value == null || !needsQuotes(value, separator)) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean needsQuotes(String value, String separator) {
+        return value.contains(separator) || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+    }
+
     /**
      * replaceLinesInFile <br>
      * <p>
@@ -228,8 +474,35 @@ public class FilesWriter {
      * @param patternLineIdentifiant pattern permettant d'identifier les lignes à remplacer
      * @param newLineContent contenu de la nouvelle ligne
      * @return le nombre de lignes ayant été remplacées dans le fichier
+     * @see {@link this#replaceLinesInFile(String, String, Map)}
      */
     public static int replaceLinesInFile(String absolutePath, String fileName, String patternLineIdentifiant, String newLineContent) {
+        return replaceLinesInFile(absolutePath, fileName, Map.of(patternLineIdentifiant, newLineContent));
+    }
+
+    /**
+     * replaceLinesInFile <br>
+     * <p>
+     *     Remplace en une seule lecture du fichier les lignes correspondant à l'un des patterns par la nouvelle
+     *     ligne associée, le premier pattern correspondant (dans l'ordre d'itération de la Map) l'emportant
+     * </p>
+     * <div>
+     * <ul>
+     * <li>le fichier est lu par blocs et réécrit au fil de l'eau dans un fichier temporaire du même
+     * répertoire, qui remplace le fichier d'origine par un déplacement atomique : la mémoire occupée ne
+     * dépend pas de la taille du fichier, et le fichier n'est jamais visible à moitié réécrit</li>
+     * <li>les lignes non remplacées sont recopiées octet pour octet, sauts de ligne compris, et ne sont pas
+     * décodées si elles ne contiennent pas le littéral obligatoire d'un des patterns</li>
+     * <li>le fichier n'est pas modifié si aucune ligne n'est remplacée ; le fichier réécrit conserve les
+     * permissions, le propriétaire et le groupe du fichier d'origine, et un lien symbolique est suivi</li>
+     * </ul>
+     * </div>
+     * @param absolutePath adresse absolue du fichier
+     * @param fileName nom du fichier
+     * @param newLinesByPattern nouvelle ligne par pattern identifiant les lignes à remplacer
+     * @return le nombre de lignes ayant été remplacées dans le fichier
+     */
+    public static int replaceLinesInFile(String absolutePath, String fileName, Map<String, String> newLinesByPattern) {
         int linesReplaced = 0;
         try {
             Path filePath = Paths.get(absolutePath, fileName);
@@ -237,24 +510,157 @@ public class FilesWriter {
                 throw new IOException("Le fichier n'existe pas ou n'est pas un fichier normal");
             }
 
-            Pattern pattern = Pattern.compile(patternLineIdentifiant);
+            List<LineReplacement> replacements = newLinesByPattern.entrySet().stream()
+                    .map(entry -> new LineReplacement(entry.getKey(), entry.getValue())).toList();
 
-            List<String> lines = Files.readAllLines(filePath);
-            for (int i = 0; i < lines.size(); i++) {
-                if (pattern.matcher(lines.get(i)).matches()) {
-                    lines.set(i, newLineContent);
-                    linesReplaced++;
+            // un lien symbolique est mis à jour au travers du lien, le fichier pointé étant réécrit
+            Path target = filePath.toRealPath();
+            Path temporaryFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                try (LineReader reader = new LineReader(FilesReader.openInput(target), ENCODING);
+                     OutputStream output = openOutput(temporaryFile, isCompressed(target))) {
+                    while (reader.nextLine()) {
+                        byte[] buffer = reader.buffer();
+                        int lineLength = (int) (reader.offset() - reader.lineOffset());
+                        LineReplacement replacement = findReplacement(replacements, reader);
+                        if (replacement == null) {
+                            output.write(buffer, reader.lineStart(), lineLength);
+                        } else {
+                            // la nouvelle ligne conserve le saut de ligne d'origine
+                            output.write(replacement.newLine);
+                            output.write(buffer, reader.lineEnd(), reader.lineStart() + lineLength - reader.lineEnd());
+                            linesReplaced++;
+                        }
+                    }
                 }
-            }
-            if (linesReplaced > 0) {
-                Files.write(filePath, lines, ENCODING);
+                if (linesReplaced > 0) {
+                    copyOwnerAndPermissions(target, temporaryFile);
+                    Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                Files.deleteIfExists(temporaryFile);
             }
 
         } catch (IOException e) {
             e.printStackTrace();
+            linesReplaced = 0;
         }
         return linesReplaced;
     }
 
+    /**
+     * copyOwnerAndPermissions <br>
+     * <p>
+     * Reporte sur le fichier réécrit les permissions, le propriétaire et le groupe du fichier d'origine (le
+     * fichier temporaire étant créé avec les seuls droits de l'utilisateur). Si le propriétaire ou le groupe
+     * ne peut être reporté, le fichier d'origine n'est pas remplacé
+     * </p>
+     *
+     * @param source fichier d'origine
+     * @param target fichier réécrit
+     */
+    private static void copyOwnerAndPermissions(Path source, Path target) throws IOException {
+        PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (targetView == null) {
+            return;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(source, PosixFileAttributes.class);
+        PosixFileAttributes targetAttributes = targetView.readAttributes();
+        if (!attributes.owner().equals(targetAttributes.owner())) {
+            targetView.setOwner(attributes.owner());
+        }
+        if (!attributes.group().equals(targetAttributes.group())) {
+            targetView.setGroup(attributes.group());
+        }
+        targetView.setPermissions(attributes.permissions());
+    }
+
+    /**
+     * replaceLinesInFiles <br>
+     * <p>
+     *     Remplace les lignes des fichiers d'une arborescence dont le chemin correspond au glob, en traitant
+     *     plusieurs fichiers simultanément sur un pool de threads borné. Chaque fichier est traité comme par
+     *     {@link this#replaceLinesInFile(String, String, Map)} ; l'échec du traitement d'un fichier est tracé
+     *     sans interrompre celui des autres
+     * </p>
+     * @param rootPath adresse absolue du répertoire racine de l'arborescence
+     * @param glob glob appliqué au chemin des fichiers relatif au répertoire racine (par exemple "*.properties"
+     *             pour les fichiers du répertoire racine, "**.properties" pour ceux de toute l'arborescence)
+     * @param newLinesByPattern nouvelle ligne par pattern identifiant les lignes à remplacer
+     * @param parallelism nombre maximal de fichiers traités simultanément
+     * @return le nombre de lignes remplacées par chemin de fichier relatif au répertoire racine, dans l'ordre
+     * des chemins, 0 pour un fichier dont le traitement a échoué
+     */
+    public static Map<String, Integer> replaceLinesInFiles(String rootPath, String glob, Map<String, String> newLinesByPattern,
+                                                           int parallelism) {
+        Map<String, Integer> linesReplacedByFile = new LinkedHashMap<>();
+        Path root = Paths.get(rootPath);
+        PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + glob);
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).map(root::relativize).filter(matcher::matches).sorted().toList();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return linesReplacedByFile;
+        }
+        List<Integer> linesReplaced = FilesReader.mapConcurrently(files, parallelism, file -> {
+            Path path = root.resolve(file);
+            return replaceLinesInFile(path.getParent().toString(), path.getFileName().toString(), newLinesByPattern);
+        }, 0);
+        for (int i = 0; i < linesReplaced.size(); i++) {
+            linesReplacedByFile.put(files.get(i).toString(), linesReplaced.get(i));
+        }
+        return linesReplacedByFile;
+    }
+
+    /**
+     * findReplacement <br>
+     *
+     * @return le remplacement du premier pattern correspondant à la ligne courante, null si aucun ne correspond
+     * (la ligne n'est décodée que si elle contient le littéral obligatoire d'un pattern)
+     */
+    private static LineReplacement findReplacement(List<LineReplacement> replacements, LineReader reader) {
+        String line = null;
+        for (LineReplacement replacement : replacements) {
+            if (replacement.prefilter == null || replacement.prefilter.mayMatch(reader.buffer(), reader.lineStart(), reader.lineEnd())) {
+                line = line != null ? line : reader.line();
+                if (replacement.matcher.reset(line).matches()) {
+                    return replacement;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * openOutput <br>
+     *
+     * @param path       fichier écrit
+     * @param compressed true pour compresser les données écrites au format gzip
+     * @return un flux d'écriture du fichier
+     */
+    private static OutputStream openOutput(Path path, boolean compressed) throws IOException {
+        if (compressed) {
+            return openCompressedOutput(path, OVERWRITE_EXISTING_CONTENT);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * Remplacement des lignes correspondant à un pattern
+     */
+    private static final class LineReplacement {
+
+        private final Matcher matcher;
+        private final LiteralPrefilter prefilter;
+        private final byte[] newLine;
+
+        private LineReplacement(String patternLineIdentifiant, String newLineContent) {
+            this.matcher = Pattern.compile(patternLineIdentifiant).matcher("");
+            this.prefilter = LiteralPrefilter.of(patternLineIdentifiant, ENCODING);
+            this.newLine = newLineContent.getBytes(ENCODING);
+        }
+    }
+
 }
 
@@ -0,0 +1,83 @@
+package filesmanager;
+
+/**
+ * FlushPolicy <br>
+ * <p>
+ * Politique de synchronisation sur disque (fsync) des données écrites par un {@link FilesAppender}
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+public final class FlushPolicy {
+
+    private static final FlushPolicy PER_BATCH = new FlushPolicy(0, 0);
+
+    private final long maxDelayMillis;
+    private final long maxBytes;
+
+    private FlushPolicy(long maxDelayMillis, long maxBytes) {
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * perBatch <br>
+     *
+     * @return une politique synchronisant chaque lot d'écritures dès qu'il est écrit
+     */
+    public static FlushPolicy perBatch() {
+        return PER_BATCH;
+    }
+
+    /**
+     * everyMillis <br>
+     *
+     * @param millis délai maximal entre l'écriture de données et leur synchronisation
+     * @return une politique synchronisant les données écrites au plus tard après le délai
+     */
+    public static FlushPolicy everyMillis(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Délai invalide : " + millis);
+        }
+        return new FlushPolicy(millis, Long.MAX_VALUE);
+    }
+
+    /**
+     * everyBytes <br>
+     * <p>
+     * Les données ne sont synchronisées, et les écritures confirmées, qu'une fois le volume atteint ou à la
+     * fermeture de l'écrivain
+     * </p>
+     *
+     * @param bytes volume de données écrites déclenchant une synchronisation
+     * @return une politique synchronisant les données écrites par volume
+     */
+    public static FlushPolicy everyBytes(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Volume invalide : " + bytes);
+        }
+        return new FlushPolicy(Long.MAX_VALUE, bytes);
+    }
+
+    /**
+     * @return le délai maximal avant synchronisation, Long.MAX_VALUE si la politique ne dépend pas du temps
+     */
+    long maxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * @return le volume de données non synchronisées déclenchant une synchronisation, 0 pour chaque lot
+     */
+    long maxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return this == PER_BATCH ? "perBatch" : maxBytes == Long.MAX_VALUE ? "everyMillis(" + maxDelayMillis + ")"
+                : "everyBytes(" + maxBytes + ")";
+    }
+
+}
@@ -0,0 +1,67 @@
+package filesmanager;
+
+/**
+ * Hashes <br>
+ * <p>
+ * Empreintes 64 bits de chaines de caractères et de suites d'octets (FNV-1a suivi du mélange
+ * final de MurmurHash3), utilisées pour indexer ou dédoublonner des lignes sans conserver leur valeur
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class Hashes {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private Hashes() {
+    }
+
+    /**
+     * hash <br>
+     *
+     * @param value chaine de caractères
+     * @return l'empreinte de la chaine
+     */
+    static long hash(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * hash <br>
+     *
+     * @param bytes tableau d'octets
+     * @param from  position du premier octet (inclus)
+     * @param to    position suivant le dernier octet
+     * @return l'empreinte des octets
+     */
+    static long hash(byte[] bytes, int from, int to) {
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * mix <br>
+     * <p>
+     * Répartit l'entropie sur tous les bits, afin que les bits de poids fort comme ceux de poids
+     * faible puissent servir à répartir les empreintes
+     * </p>
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
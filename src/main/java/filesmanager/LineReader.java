@@ -0,0 +1,173 @@
+package filesmanager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * LineReader <br>
+ * <p>
+ * Lecture ligne à ligne d'un flux d'octets : les sauts de ligne sont recherchés directement
+ * dans les octets lus et chaque ligne n'est décodée en chaine de caractères qu'à la demande.
+ * Les fins de ligne reconnues sont \n et \r\n ; l'encodage doit être compatible ASCII
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class LineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final InputStream input;
+    private final TextDecoder decoder;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int limit;
+    private boolean endOfInput;
+    /**
+     * position dans le flux du premier octet du buffer
+     */
+    private long bufferOffset;
+    private int position;
+    private int lineStart;
+    private int lineEnd;
+    private boolean lineTerminated;
+
+    LineReader(InputStream input, Charset charset) {
+        this(input, charset, 0);
+    }
+
+    /**
+     * @param input   flux d'octets
+     * @param charset encodage des lignes
+     * @param offset  position dans le fichier du premier octet du flux, prise en compte dans les positions restituées
+     */
+    LineReader(InputStream input, Charset charset, long offset) {
+        this.input = input;
+        this.decoder = TextDecoder.of(charset);
+        this.bufferOffset = offset;
+    }
+
+    /**
+     * nextLine <br>
+     * <p>
+     * Avance jusqu'à la ligne suivante
+     * </p>
+     *
+     * @return false en fin de flux
+     */
+    boolean nextLine() throws IOException {
+        lineStart = position;
+        if (position >= limit && !fill()) {
+            return false;
+        }
+        while (true) {
+            int lineFeed = ByteScanner.indexOf(buffer, position, limit, LINE_FEED);
+            if (lineFeed >= 0) {
+                lineEnd = lineFeed;
+                position = lineFeed + 1;
+                lineTerminated = true;
+                break;
+            }
+            position = limit;
+            if (!fill()) {
+                lineEnd = limit;
+                lineTerminated = false;
+                break;
+            }
+        }
+        if (lineEnd > lineStart && buffer[lineEnd - 1] == CARRIAGE_RETURN) {
+            lineEnd--;
+        }
+        return true;
+    }
+
+    /**
+     * @return la ligne courante décodée, sans ses caractères de fin de ligne
+     */
+    String line() {
+        return decoder.decode(buffer, lineStart, lineEnd);
+    }
+
+    /**
+     * @return false si la ligne courante termine le flux sans saut de ligne
+     */
+    boolean lineTerminated() {
+        return lineTerminated;
+    }
+
+    /**
+     * @return le buffer contenant la ligne courante, entre {@link #lineStart()} et {@link #lineEnd()}
+     */
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int lineStart() {
+        return lineStart;
+    }
+
+    int lineEnd() {
+        return lineEnd;
+    }
+
+    /**
+     * @return la position dans le flux du premier octet de la ligne courante
+     */
+    long lineOffset() {
+        return bufferOffset + lineStart;
+    }
+
+    /**
+     * @return la position dans le flux du premier octet suivant la ligne courante et sa fin de ligne
+     */
+    long offset() {
+        return bufferOffset + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * fill <br>
+     * <p>
+     * Complète le buffer avec la suite du flux en conservant la ligne en cours en tête de buffer,
+     * le buffer étant agrandi si la ligne l'occupe entièrement
+     * </p>
+     *
+     * @return false si aucun octet n'a pu être lu
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        if (lineStart > 0) {
+            System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+            limit -= lineStart;
+            position -= lineStart;
+            bufferOffset += lineStart;
+            lineStart = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = input.read(buffer, limit, buffer.length - limit);
+        while (read == 0) {
+            read = input.read(buffer, limit, buffer.length - limit);
+        }
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+}
@@ -0,0 +1,242 @@
+package filesmanager;
+
+import java.nio.charset.Charset;
+
+/**
+ * LiteralPrefilter <br>
+ * <p>
+ * Préfiltre des lignes sur laquelle une expression régulière est recherchée : le texte littéral
+ * que toute correspondance du motif contient obligatoirement est recherché directement dans les
+ * octets de la ligne, seules les lignes le contenant étant ensuite décodées et soumises au motif
+ * complet
+ * </p>
+ * <p>
+ * L'extraction du littéral est volontairement prudente : en présence d'alternative, d'option
+ * intégrée au motif (insensibilité à la casse...) ou de bloc \Q...\E, aucun préfiltre n'est appliqué
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class LiteralPrefilter {
+
+    private final byte[] literal;
+
+    private LiteralPrefilter(byte[] literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * of <br>
+     *
+     * @param regex   expression régulière recherchée dans les lignes
+     * @param charset encodage des lignes
+     * @return le préfiltre associé au motif, null si aucun littéral obligatoire n'a pu être déterminé
+     */
+    static LiteralPrefilter of(String regex, Charset charset) {
+        String literal = requiredLiteral(regex);
+        return literal != null ? new LiteralPrefilter(literal.getBytes(charset)) : null;
+    }
+
+    /**
+     * mayMatch <br>
+     *
+     * @param bytes octets de la ligne
+     * @param from  position du premier octet de la ligne
+     * @param to    position suivant le dernier octet de la ligne
+     * @return false si la ligne ne contient pas le littéral et ne peut donc pas correspondre au motif
+     */
+    boolean mayMatch(byte[] bytes, int from, int to) {
+        int lastStart = to - literal.length + 1;
+        int position = from;
+        while (position < lastStart) {
+            int candidate = ByteScanner.indexOf(bytes, position, lastStart, literal[0]);
+            if (candidate < 0) {
+                return false;
+            }
+            if (matchesAt(bytes, candidate)) {
+                return true;
+            }
+            position = candidate + 1;
+        }
+        return false;
+    }
+
+    private boolean matchesAt(byte[] bytes, int position) {
+        for (int i = 1; i < literal.length; i++) {
+            if (bytes[position + i] != literal[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * requiredLiteral <br>
+     * <p>
+     * Détermine la plus longue suite de caractères littéraux du premier niveau du motif, hors groupes,
+     * classes de caractères et éléments rendus optionnels par un quantificateur
+     * </p>
+     *
+     * @param regex expression régulière
+     * @return le littéral que toute correspondance contient, null si aucun n'a pu être déterminé
+     */
+    static String requiredLiteral(String regex) {
+        StringBuilder best = new StringBuilder();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                if (escaped == 'Q') {
+                    return null;
+                }
+                if (depth == 0 && !Character.isLetterOrDigit(escaped)) {
+                    i = appendAtom(regex, i + 2, escaped, current, best);
+                } else {
+                    // classe prédéfinie, ancre, caractère spécial ou référence arrière : son opérande
+                    // éventuel n'est pas un littéral
+                    keepLongest(current, best);
+                    i = skipEscape(regex, i);
+                }
+            } else if (c == '|') {
+                return null;
+            } else if (c == '(') {
+                if (i + 2 < regex.length() && regex.charAt(i + 1) == '?' && "idmsuxU-".indexOf(regex.charAt(i + 2)) >= 0) {
+                    return null;
+                }
+                keepLongest(current, best);
+                depth++;
+                i++;
+            } else if (c == ')') {
+                depth--;
+                i++;
+            } else if (c == '[') {
+                keepLongest(current, best);
+                i = skipCharacterClass(regex, i);
+            } else if (c == '{') {
+                // quantificateur {n,m}
+                keepLongest(current, best);
+                int end = regex.indexOf('}', i);
+                i = end >= 0 ? end + 1 : regex.length();
+            } else if (depth > 0 || ".^$*+?}".indexOf(c) >= 0) {
+                keepLongest(current, best);
+                i++;
+            } else {
+                i = appendAtom(regex, i + 1, c, current, best);
+            }
+        }
+        keepLongest(current, best);
+        return best.length() > 0 ? best.toString() : null;
+    }
+
+    /**
+     * appendAtom <br>
+     * <p>
+     * Ajoute un caractère littéral à la suite en cours en tenant compte du quantificateur qui le suit
+     * </p>
+     *
+     * @return la position suivant le caractère (et son éventuel quantificateur)
+     */
+    private static int appendAtom(String regex, int next, char c, StringBuilder current, StringBuilder best) {
+        char quantifier = next < regex.length() ? regex.charAt(next) : 0;
+        if (quantifier == '*' || quantifier == '?' || (quantifier == '{' && regex.startsWith("{0", next))) {
+            // caractère optionnel : il interrompt la suite
+            keepLongest(current, best);
+            return next;
+        }
+        current.append(c);
+        if (quantifier == '+' || quantifier == '{') {
+            // caractère présent au moins une fois, mais la suite n'est plus contiguë
+            keepLongest(current, best);
+        }
+        return next;
+    }
+
+    /**
+     * skipEscape <br>
+     * <p>
+     * Passe une séquence d'échappement désignée par une lettre ou un chiffre avec son opérande :
+     * \xhh, \x{h...h}, &#92;uhhhh, \0ooo, \cX, \k&lt;nom&gt;, \p{...}, \P{...}, \N{...}, références
+     * arrières \n... Dans le doute l'opérande est passé en entier, ce qui ne fait que raccourcir le littéral
+     * </p>
+     *
+     * @param start position de la barre oblique inverse
+     * @return la position suivant la séquence d'échappement
+     */
+    private static int skipEscape(String regex, int start) {
+        char escaped = regex.charAt(start + 1);
+        int i = start + 2;
+        switch (escaped) {
+            case 'x':
+                return i < regex.length() && regex.charAt(i) == '{' ? skipBraces(regex, i) : skipDigits(regex, i, 2, 16);
+            case 'u':
+                return skipDigits(regex, i, 4, 16);
+            case '0':
+                return skipDigits(regex, i, 3, 8);
+            case 'c':
+                return Math.min(i + 1, regex.length());
+            case 'k': {
+                int end = regex.indexOf('>', i);
+                return end >= 0 ? end + 1 : regex.length();
+            }
+            case 'p':
+            case 'P':
+            case 'N':
+                return i < regex.length() && regex.charAt(i) == '{' ? skipBraces(regex, i) : Math.min(i + 1, regex.length());
+            default:
+                // référence arrière : tous les chiffres qui suivent
+                return escaped >= '1' && escaped <= '9' ? skipDigits(regex, i, Integer.MAX_VALUE, 10) : i;
+        }
+    }
+
+    private static int skipBraces(String regex, int openingBrace) {
+        int end = regex.indexOf('}', openingBrace);
+        return end >= 0 ? end + 1 : regex.length();
+    }
+
+    private static int skipDigits(String regex, int start, int maxDigits, int radix) {
+        int i = start;
+        while (i < regex.length() && i - start < maxDigits && Character.digit(regex.charAt(i), radix) >= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static void keepLongest(StringBuilder current, StringBuilder best) {
+        if (current.length() > best.length()) {
+            best.setLength(0);
+            best.append(current);
+        }
+        current.setLength(0);
+    }
+
+}
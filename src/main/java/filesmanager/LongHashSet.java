@@ -0,0 +1,119 @@
+package filesmanager;
+
+/**
+ * LongHashSet <br>
+ * <p>
+ * Ensemble d'entiers longs à adressage ouvert stocké dans un unique tableau de long : 8 octets par
+ * emplacement, sans objet par valeur, contre une cinquantaine d'octets par élément pour un HashSet&lt;Long&gt;
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class LongHashSet {
+
+    /**
+     * taux de remplissage au-delà duquel le tableau est doublé, ou les ajouts refusés à la capacité maximale
+     */
+    private static final double MAX_LOAD = 0.7;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * emplacements, 0 indiquant un emplacement libre (la valeur 0 est mémorisée à part)
+     */
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+    private int resizeThreshold;
+
+    LongHashSet() {
+        this(1 << 16);
+    }
+
+    /**
+     * @param capacity nombre initial d'emplacements, arrondi à la puissance de 2 supérieure
+     */
+    LongHashSet(int capacity) {
+        allocate(Math.max(2, Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1));
+    }
+
+    /**
+     * add <br>
+     *
+     * @param value valeur à ajouter
+     * @return false si la valeur était déjà présente
+     * @throws IllegalStateException si le taux de remplissage maximal est dépassé à la capacité maximale
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        int mask = slots.length - 1;
+        int index = indexOf(value, mask);
+        while (slots[index] != 0) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        if (++size > resizeThreshold) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * contains <br>
+     *
+     * @param value valeur recherchée
+     * @return true si la valeur est présente
+     */
+    boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        for (int index = indexOf(value, mask); slots[index] != 0; index = (index + 1) & mask) {
+            if (slots[index] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int indexOf(long value, int mask) {
+        return (int) Hashes.mix(value) & mask;
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        resizeThreshold = (int) (capacity * MAX_LOAD);
+    }
+
+    private void grow() {
+        if (slots.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Capacité maximale atteinte : " + size + " valeurs");
+        }
+        long[] previous = slots;
+        allocate(previous.length * 2);
+        int mask = slots.length - 1;
+        for (long value : previous) {
+            if (value != 0) {
+                int index = indexOf(value, mask);
+                while (slots[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package filesmanager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * SpillFile <br>
+ * <p>
+ * Fichier temporaire de lignes déchargées sur disque par les traitements dont les données dépassent
+ * la mémoire (tri, jointure, dédoublonnage). Les valeurs y sont enregistrées sous forme binaire, longueur
+ * puis octets UTF-8, afin d'être relues à l'identique quels que soient le séparateur et l'encodage configurés
+ * </p>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class SpillFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NULL_VALUE = -1;
+
+    private SpillFile() {
+    }
+
+    /**
+     * stream <br>
+     *
+     * @param file fichier temporaire
+     * @return le flux des lignes du fichier, qui est fermé à la fermeture du flux
+     * @throws IOException en cas d'erreur d'ouverture du fichier
+     */
+    static Stream<String[]> stream(Path file) throws IOException {
+        Reader reader = new Reader(file);
+        Spliterator<String[]> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String[]> action) {
+                try {
+                    String[] values = reader.read();
+                    if (values == null) {
+                        return false;
+                    }
+                    action.accept(values);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * deleteDirectory <br>
+     * <p>
+     * Supprime un répertoire de fichiers temporaires et son contenu, les erreurs étant seulement tracées
+     * </p>
+     *
+     * @param temporaryDirectory répertoire à supprimer, ignoré si null
+     */
+    static void deleteDirectory(Path temporaryDirectory) {
+        if (temporaryDirectory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(temporaryDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(temporaryDirectory);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Ecriture séquentielle des lignes d'un fichier temporaire
+     */
+    static final class Writer implements Closeable {
+
+        private final DataOutputStream output;
+
+        Writer(Path file) throws IOException {
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        }
+
+        /**
+         * @param values valeurs de la ligne, éventuellement nulles
+         */
+        void write(String[] values) throws IOException {
+            output.writeInt(values.length);
+            for (String value : values) {
+                if (value == null) {
+                    output.writeInt(NULL_VALUE);
+                } else {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+    }
+
+    /**
+     * Lecture séquentielle des lignes d'un fichier temporaire
+     */
+    static final class Reader implements Closeable {
+
+        private final DataInputStream input;
+
+        Reader(Path file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        }
+
+        /**
+         * @return les valeurs de la ligne suivante, null en fin de fichier
+         */
+        String[] read() throws IOException {
+            int count;
+            try {
+                count = input.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                int length = input.readInt();
+                if (length != NULL_VALUE) {
+                    byte[] bytes = new byte[length];
+                    input.readFully(bytes);
+                    values[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * Répartition de lignes dans des fichiers temporaires, créés à la première ligne de leur partition
+     */
+    static final class Partitions implements Closeable {
+
+        private final Path directory;
+        private final String prefix;
+        private final Writer[] writers;
+
+        /**
+         * @param directory       répertoire des fichiers temporaires
+         * @param prefix          préfixe du nom des fichiers temporaires
+         * @param partitionsCount nombre de partitions
+         */
+        Partitions(Path directory, String prefix, int partitionsCount) {
+            this.directory = directory;
+            this.prefix = prefix;
+            this.writers = new Writer[partitionsCount];
+        }
+
+        /**
+         * @return le fichier temporaire d'une partition, absent si aucune ligne n'y a été écrite
+         */
+        static Path file(Path directory, String prefix, int partition) {
+            return directory.resolve(prefix + partition + ".tmp");
+        }
+
+        /**
+         * @param hash            empreinte de la clé d'une ligne
+         * @param partitionsCount nombre de partitions
+         * @return la partition de la ligne
+         */
+        static int partitionOf(long hash, int partitionsCount) {
+            return Math.floorMod((int) (hash >>> 32), partitionsCount);
+        }
+
+        int count() {
+            return writers.length;
+        }
+
+        void write(int partition, String[] values) throws IOException {
+            if (writers[partition] == null) {
+                writers[partition] = new Writer(file(directory, prefix, partition));
+            }
+            writers[partition].write(values);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Writer writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+    }
+
+}
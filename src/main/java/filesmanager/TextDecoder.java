@@ -0,0 +1,79 @@
+package filesmanager;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TextDecoder <br>
+ * <p>
+ * Décodage en chaines de caractères des octets lus par les découpeurs. Les octets ASCII ayant la même
+ * valeur en ISO-8859-1, une chaine ne contenant que des octets ASCII est construite directement à partir
+ * des octets (stockage compact des chaines Latin-1) sans passer par le décodeur de l'encodage :
+ * </p>
+ * <div>
+ * <ul>
+ * <li>ISO-8859-1 : tous les octets sont copiés tels quels</li>
+ * <li>UTF-8 : le décodage est délégué à la JVM, qui copie déjà directement les octets ASCII</li>
+ * <li>autres encodages compatibles ASCII (US-ASCII, windows-1252, ISO-8859-15...) : les octets sont
+ * copiés tels quels si aucun n'a son bit de poids fort positionné, décodés sinon</li>
+ * </ul>
+ * </div>
+ *
+ * @author a-ramade
+ * @since 10/2026
+ */
+final class TextDecoder {
+
+    /**
+     * caractères devant être codés sur un octet de même valeur qu'en ASCII par un encodage compatible
+     */
+    private static final String ASCII_CHARACTERS = "\t\n\r \"',;|0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private final Charset charset;
+    private final boolean latin1;
+    private final boolean asciiFastPath;
+
+    private TextDecoder(Charset charset) {
+        this.charset = charset;
+        this.latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        this.asciiFastPath = !latin1 && !StandardCharsets.UTF_8.equals(charset);
+    }
+
+    /**
+     * of <br>
+     *
+     * @param charset encodage des octets, compatible ASCII
+     * @return le décodeur de l'encodage
+     */
+    static TextDecoder of(Charset charset) {
+        return new TextDecoder(charset);
+    }
+
+    /**
+     * isAsciiCompatible <br>
+     *
+     * @param charset encodage
+     * @return true si l'encodage code les caractères ASCII sur un octet de même valeur, condition pour que
+     * séparateurs, guillemets et sauts de ligne soient recherchés octet par octet
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        return charset.canEncode()
+                && ASCII_CHARACTERS.equals(new String(ASCII_CHARACTERS.getBytes(charset), StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * decode <br>
+     *
+     * @param bytes tableau d'octets
+     * @param from  position de début (incluse)
+     * @param to    position de fin (exclue)
+     * @return la chaine de caractères décodée
+     */
+    String decode(byte[] bytes, int from, int to) {
+        if (latin1 || (asciiFastPath && ByteScanner.isAscii(bytes, from, to))) {
+            return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        }
+        return new String(bytes, from, to - from, charset);
+    }
+
+}
@@ -0,0 +1,62 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ByteScannerTest {
+
+	private static int naiveIndexOf(byte[] bytes, int from, int to, byte first, byte second) {
+		for (int i = from; i < to; i++) {
+			if (bytes[i] == first || bytes[i] == second) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void indexOf_() {
+		Random random = new Random(42);
+		for (int iteration = 0; iteration < 2000; iteration++) {
+			byte[] bytes = new byte[random.nextInt(40)];
+			for (int i = 0; i < bytes.length; i++) {
+				// octets rares pour que les recherches échouent régulièrement, dont des octets négatifs
+				bytes[i] = (byte) (random.nextInt(20) == 0 ? ';' : random.nextInt(20) == 0 ? '\n' : random.nextInt(256));
+			}
+			int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+			int to = from + random.nextInt(bytes.length - from + 1);
+
+			assertThat(ByteScanner.indexOf(bytes, from, to, (byte) ';'), is(naiveIndexOf(bytes, from, to, (byte) ';', (byte) ';')));
+			assertThat(ByteScanner.indexOf(bytes, from, to, (byte) 0xE9), is(naiveIndexOf(bytes, from, to, (byte) 0xE9, (byte) 0xE9)));
+			assertThat(ByteScanner.indexOfAny(bytes, from, to, (byte) ';', (byte) '\n'), is(naiveIndexOf(bytes, from, to, (byte) ';', (byte) '\n')));
+			assertThat(ByteScanner.indexOf(ByteBuffer.wrap(bytes), from, to, (byte) '\n'), is(naiveIndexOf(bytes, from, to, (byte) '\n', (byte) '\n')));
+			assertThat(ByteScanner.indexOf(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), from, to, (byte) '\n'), is(naiveIndexOf(bytes, from, to, (byte) '\n', (byte) '\n')));
+		}
+	}
+
+	@Test
+	public void isAscii_() {
+		Random random = new Random(42);
+		for (int iteration = 0; iteration < 2000; iteration++) {
+			byte[] bytes = new byte[random.nextInt(40)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (byte) (random.nextInt(30) == 0 ? 0x80 + random.nextInt(128) : random.nextInt(128));
+			}
+			int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+			int to = from + random.nextInt(bytes.length - from + 1);
+
+			boolean ascii = true;
+			for (int i = from; i < to; i++) {
+				ascii &= bytes[i] >= 0;
+			}
+			assertThat(ByteScanner.isAscii(bytes, from, to), is(ascii));
+		}
+	}
+
+}
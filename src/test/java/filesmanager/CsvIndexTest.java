@@ -0,0 +1,86 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void open_() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("clients.csv");
+		Files.write(file, ("id;nom;pays\r\n1;Alice;FR\r\n2;\"Bob\nJunior\";BE\r\n\r\n3;Carole;FR\r\n4;Alice;CH").getBytes(StandardCharsets.UTF_8));
+		String path = folder.getRoot().getAbsolutePath();
+
+		CsvIndex index = CsvIndex.open(path, "clients.csv", "nom");
+		assertThat(Files.exists(folder.getRoot().toPath().resolve("clients.csv" + CsvIndex.INDEX_EXTENSION)), is(true));
+		assertThat(index.size(), is(4));
+		assertThat(index.readRow(1).get("nom"), is("Bob\nJunior"));
+		assertThat(index.readRow(3).get("pays"), is("CH"));
+		assertThat(index.findRows("Alice").stream().map(row -> row.get("id")).collect(Collectors.toList()), is(Arrays.asList("1", "4")));
+		assertThat(index.findRows("Denis"), is(Collections.emptyList()));
+
+		// index relu depuis le fichier .idx
+		CsvIndex reopened = CsvIndex.open(path, "clients.csv", "nom");
+		assertThat(reopened.findRows("Carole").get(0).get("id"), is("3"));
+
+		// index reconstruit après modification du fichier
+		Files.write(file, "\r\n5;Denis;FR\r\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		assertThat(reopened.size(), is(5));
+		Map<String, String> denis = reopened.findRows("Denis").get(0);
+		assertThat(denis.get("id"), is("5"));
+		assertThat(reopened.readRow(3).get("pays"), is("CH"));
+	}
+
+	@Test
+	public void open_manyRows() throws IOException {
+		// plus d'empreintes qu'une série triée en mémoire : l'index des clés est construit par fusion
+		Path file = folder.getRoot().toPath().resolve("mesures.csv");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("id;capteur\n");
+			for (int i = 0; i < 1_500_000; i++) {
+				writer.write(i + ";c" + (i % 100_000) + "\n");
+			}
+		}
+		String path = folder.getRoot().getAbsolutePath();
+
+		CsvIndex index = CsvIndex.open(path, "mesures.csv", "capteur");
+		assertThat(index.size(), is(1_500_000));
+		assertThat(index.readRow(1_499_999).get("id"), is("1499999"));
+		assertThat(index.findRows("c42").size(), is(15));
+		assertThat(index.findRows("c99999").get(14).get("id"), is("1499999"));
+
+		CsvIndex reopened = CsvIndex.open(path, "mesures.csv", "capteur");
+		assertThat(reopened.findRows("c0").get(1).get("id"), is("100000"));
+		assertThat(reopened.findRows("c100000"), is(Collections.emptyList()));
+	}
+
+	@Test
+	public void open_withoutKey() throws IOException {
+		Files.write(folder.getRoot().toPath().resolve("codes.csv"), "code\nA\nB\n".getBytes(StandardCharsets.UTF_8));
+		String path = folder.getRoot().getAbsolutePath();
+
+		CsvIndex index = CsvIndex.open(path, "codes.csv", null);
+		assertThat(index.readRow(1).get("code"), is("B"));
+		assertThat(CsvIndex.open(path, "codes.csv", "absente"), is(nullValue()));
+	}
+
+}
@@ -0,0 +1,87 @@
+package filesmanager;
+
+import static filesmanager.TestFiles.createFile;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvJoinTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void resetMaxRowsInMemory() {
+		CsvJoin.setMaxRowsInMemory(1_000_000);
+		CsvJoin.setPartitionsCount(64);
+	}
+
+	private List<String> join(String path, String left, String right, CsvJoinType joinType) {
+		try (Stream<Map<String, String>> rows = CsvJoin.joinCsvFiles(path, left, right, "id", joinType)) {
+			return rows.map(row -> row.get("id") + ":" + row.get("name") + ":" + row.get("amount") + ":" + row.get("label"))
+					.sorted().collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	public void joinCsvFiles_() throws IOException {
+		createFile(folder, "clients.csv", "id;name;label\n1;Alice;client\n2;Bob;client\n3;Carole;client\n");
+		String path = createFile(folder, "orders.csv", "amount;id;label\n10;1;order\n20;1;order\n30;3;order\n40;4;order\n50;4;order\n60;5;order\n");
+
+		// table construite sur le fichier de gauche (plus petit) puis sur celui de droite
+		for (String[] files : Arrays.asList(new String[] { "clients.csv", "orders.csv" }, new String[] { "orders.csv", "clients.csv" })) {
+			boolean clientsOnLeft = files[0].equals("clients.csv");
+			assertThat(join(path, files[0], files[1], CsvJoinType.INNER), is(clientsOnLeft
+					? Arrays.asList("1:Alice:10:client", "1:Alice:20:client", "3:Carole:30:client")
+					: Arrays.asList("1:Alice:10:order", "1:Alice:20:order", "3:Carole:30:order")));
+		}
+		assertThat(join(path, "clients.csv", "orders.csv", CsvJoinType.LEFT),
+				is(Arrays.asList("1:Alice:10:client", "1:Alice:20:client", "2:Bob::client", "3:Carole:30:client")));
+		assertThat(join(path, "orders.csv", "clients.csv", CsvJoinType.LEFT), is(Arrays.asList("1:Alice:10:order", "1:Alice:20:order",
+				"3:Carole:30:order", "4::40:order", "4::50:order", "5::60:order")));
+
+		// colonne clé absente
+		assertThat(CsvJoin.joinCsvFiles(path, "clients.csv", "orders.csv", "name", CsvJoinType.INNER).count(), is(0L));
+	}
+
+	@Test
+	public void joinCsvFiles_partitioned() throws IOException {
+		StringBuilder left = new StringBuilder("id;name\n");
+		StringBuilder right = new StringBuilder("id;amount\n");
+		for (int i = 0; i < 3000; i++) {
+			left.append(i).append(";name").append(i).append('\n');
+			right.append(i * 2).append(';').append(i).append('\n');
+			right.append(i * 2).append(';').append(-i).append('\n');
+		}
+		createFile(folder, "left.csv", left.toString());
+		String path = createFile(folder, "right.csv", right.toString());
+
+		CsvJoin.setMaxRowsInMemory(500);
+		CsvJoin.setPartitionsCount(16);
+		try (Stream<Map<String, String>> rows = CsvJoin.joinCsvFiles(path, "left.csv", "right.csv", "id", CsvJoinType.LEFT)) {
+			List<Map<String, String>> joined = rows.sorted(Comparator.comparing((Map<String, String> row) -> Integer.parseInt(row.get("id"))))
+					.collect(Collectors.toList());
+			// 1500 clés paires associées à deux lignes, 1500 clés impaires sans correspondance
+			assertThat(joined.size(), is(4500));
+			assertThat(joined.get(0).get("name"), is("name0"));
+			assertThat(joined.get(2).get("amount"), is(""));
+			assertThat(joined.stream().filter(row -> row.get("id").equals("2998")).map(row -> row.get("amount")).sorted()
+					.collect(Collectors.toList()), is(Arrays.asList("-1499", "1499")));
+		}
+		// fichiers temporaires supprimés à la fermeture du flux
+		assertThat(folder.getRoot().list().length, is(2));
+	}
+
+}
@@ -0,0 +1,69 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class CsvReaderTest {
+
+	private static CsvReader reader(String content, String separator) {
+		return new CsvReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8,
+				separator);
+	}
+
+	@Test
+	public void readRecord_() throws IOException {
+		CsvReader reader = reader("a;\"b;c\";\"d \"\"e\"\"\"\r\n\r\n\"multi\nligne\";;\nfin;", ";");
+
+		assertThat(reader.readRecord(), is(new String[] { "a", "b;c", "d \"e\"" }));
+		// ligne vide ignorée, saut de ligne dans un champ entre guillemets, champs vides
+		assertThat(reader.readRecord(), is(new String[] { "multi\nligne", "", "" }));
+		assertThat(reader.readRecord(), is(new String[] { "fin", "" }));
+		assertThat(reader.readRecord(), nullValue());
+	}
+
+	@Test
+	public void project_() throws IOException {
+		CsvReader reader = reader("id|name|city\n1|Alice|Paris\n2|Bob\n", "|");
+		reader.readRecord();
+		reader.project(new int[] { 2, 0 });
+
+		assertThat(reader.nextRecord(), is(true));
+		assertThat(reader.field(0), is("Paris"));
+		assertThat(reader.field(1), is("1"));
+		assertThat(reader.recordOffset(), is(13L));
+
+		// colonne absente de la ligne
+		assertThat(reader.nextRecord(), is(true));
+		assertThat(reader.field(0), nullValue());
+		assertThat(reader.field(1), is("2"));
+		assertThat(reader.nextRecord(), is(false));
+	}
+
+	@Test
+	public void longRecords_() throws IOException {
+		// enregistrements plus longs que le buffer de lecture
+		String longValue = "x".repeat(200_000);
+		CsvReader reader = reader("\"" + longValue + "\n" + longValue + "\"::;fin", "::;");
+
+		String[] values = reader.readRecord();
+		assertThat(values.length, is(2));
+		assertThat(values[0].equals(longValue + "\n" + longValue), is(true));
+		assertThat(values[1], is("fin"));
+		assertThat(reader.readRecord(), nullValue());
+
+		reader = reader("a;" + longValue + "\nb;c", ";");
+		values = reader.readRecord();
+		assertThat(values[1].equals(longValue), is(true));
+		assertThat(reader.recordOffset(), is(0L));
+		assertThat(reader.readRecord(), is(new String[] { "b", "c" }));
+		assertThat(reader.recordOffset(), is(200_003L));
+	}
+
+}
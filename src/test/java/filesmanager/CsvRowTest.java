@@ -0,0 +1,61 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CsvRowTest {
+
+	private static final CsvHeader HEADER = buildHeader();
+
+	private static CsvHeader buildHeader() {
+		Map<String, Integer> columnsPositions = new LinkedHashMap<>();
+		columnsPositions.put("id", 0);
+		columnsPositions.put("name", 2);
+		columnsPositions.put("city", 3);
+		return CsvHeader.of(columnsPositions);
+	}
+
+	@Test
+	public void map_() {
+		CsvRow row = new CsvRow(HEADER, new String[] { "1", "Alice", null });
+
+		Map<String, String> expected = new LinkedHashMap<>();
+		expected.put("id", "1");
+		expected.put("name", "Alice");
+
+		// colonne absente de la ligne
+		assertThat(row.containsKey("city"), is(false));
+		assertThat(row.get("city"), nullValue());
+		assertThat(row.size(), is(2));
+		assertThat(row.equals(expected), is(true));
+		assertThat(expected.equals(row), is(true));
+		assertThat(row.hashCode(), is(expected.hashCode()));
+		assertThat(Arrays.asList(row.keySet().toArray()), is(Arrays.asList("id", "name")));
+	}
+
+	@Test
+	public void modification_() {
+		CsvRow row = new CsvRow(HEADER, new String[] { "1", "Alice", null });
+
+		// colonne de l'en-tête
+		assertThat(row.put("city", "Paris"), nullValue());
+		assertThat(row.get("city"), is("Paris"));
+		// clé étrangère à l'en-tête
+		row.put("country", "France");
+		assertThat(row.get("country"), is("France"));
+		assertThat(Arrays.asList(row.keySet().toArray()), is(Arrays.asList("id", "name", "city", "country")));
+
+		assertThat(row.remove("name"), is("Alice"));
+		row.keySet().remove("country");
+		assertThat(row.size(), is(2));
+		assertThat(row.toString(), is("{id=1, city=Paris}"));
+	}
+
+}
@@ -0,0 +1,99 @@
+package filesmanager;
+
+import static filesmanager.TestFiles.createFile;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvSorterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void resetLimits() {
+		CsvSorter.setMaxRowsInMemory(1_000_000);
+		CsvSorter.setMaxMergedRuns(64);
+	}
+
+	@Test
+	public void sortCsvFiles_() throws IOException {
+		StringBuilder first = new StringBuilder("id;group\n");
+		StringBuilder second = new StringBuilder("group;id;comment\n");
+		for (int i = 0; i < 5000; i++) {
+			first.append(i).append(';').append("g").append(i % 7).append('\n');
+			second.append("g").append(i % 5).append(';').append(5000 + i).append(';').append("\"a;b\"\"c\nd\"").append('\n');
+		}
+		createFile(folder, "first.csv", first.toString());
+		String path = createFile(folder, "second.csv", second.toString());
+
+		// séries de 1000 lignes déchargées sur disque, fusionnées en une ou plusieurs passes
+		CsvSorter.setMaxRowsInMemory(1000);
+		for (int maxMergedRuns : new int[] { 64, 3 }) {
+			CsvSorter.setMaxMergedRuns(maxMergedRuns);
+			long count = CsvSorter.sortCsvFiles(path, Arrays.asList("first.csv", "second.csv"), Arrays.asList("group"), "sorted.csv");
+
+			assertThat(count, is(10000L));
+			assertThat(folder.getRoot().list().length, is(3));
+			List<Map<String, String>> rows = FilesReader.readCsvFile(path, "sorted.csv");
+			assertThat(rows.size(), is(10000));
+			assertThat(rows.get(0).keySet(), is(new LinkedHashSet<>(Arrays.asList("id", "group", "comment"))));
+			for (int i = 1; i < rows.size(); i++) {
+				Map<String, String> previous = rows.get(i - 1);
+				Map<String, String> row = rows.get(i);
+				int comparison = previous.get("group").compareTo(row.get("group"));
+				assertThat(comparison <= 0, is(true));
+				// tri stable
+				if (comparison == 0) {
+					assertThat(Integer.parseInt(previous.get("id")) < Integer.parseInt(row.get("id")), is(true));
+				}
+			}
+			assertThat(rows.get(0).get("comment"), is(""));
+			assertThat(rows.stream().filter(row -> Integer.parseInt(row.get("id")) >= 5000)
+					.allMatch(row -> row.get("comment").equals("a;b\"c\nd")), is(true));
+		}
+	}
+
+	@Test
+	public void sortCsvFiles_withoutSortColumns() throws IOException {
+		String path = createFile(folder, "values.csv", "name;value\nb;2\na;9\nb;10\n");
+
+		assertThat(CsvSorter.sortCsvFiles(path, Arrays.asList("values.csv"), Collections.emptyList(), "sorted.csv"), is(3L));
+		assertThat(FilesReader.readCsvFile(path, "sorted.csv").stream().map(row -> row.get("name") + row.get("value"))
+				.collect(Collectors.toList()), is(Arrays.asList("a9", "b10", "b2")));
+	}
+
+	@Test
+	public void sortCsvFiles_writeError() throws IOException {
+		String path = createFile(folder, "values.csv", "name;value\nb;10\na;9\n");
+		// un répertoire ne peut être écrit comme un fichier
+		folder.newFolder("sorted.csv");
+
+		assertThat(CsvSorter.sortCsvFiles(path, Arrays.asList("values.csv"), Arrays.asList("name"), "sorted.csv"), is(-1L));
+	}
+
+	@Test
+	public void sortCsvFiles_inMemory() throws IOException {
+		String path = createFile(folder, "values.csv", "name;value\nb;10\na;9\nc;100\n");
+
+		CsvSorter.sortCsvFiles(path, Arrays.asList("values.csv"),
+				Comparator.comparing((Map<String, String> row) -> Integer.parseInt(row.get("value"))).reversed(), "values.csv");
+
+		assertThat(FilesReader.readCsvFile(path, "values.csv").stream().map(row -> row.get("name")).collect(Collectors.toList()),
+				is(Arrays.asList("c", "b", "a")));
+	}
+
+}
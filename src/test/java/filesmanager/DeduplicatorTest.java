@@ -0,0 +1,93 @@
+package filesmanager;
+
+import static filesmanager.TestFiles.createFile;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeduplicatorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void resetMode() {
+		Deduplicator.setExactMode(false);
+		Deduplicator.setPartitionsCount(64);
+	}
+
+	@Test
+	public void deduplicateLinesInFiles_() throws IOException {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			content.append("line").append(i % 7000).append(i % 2 == 0 ? "\r\n" : "\n");
+		}
+		createFile(folder, "first.log", content.toString());
+		String path = createFile(folder, "second.log", "line6999\nnew line\n\nline0");
+
+		for (boolean exactMode : new boolean[] { false, true }) {
+			Deduplicator.setExactMode(exactMode);
+			Deduplicator.setPartitionsCount(8);
+			assertThat(Deduplicator.deduplicateLinesInFiles(path, Arrays.asList("first.log", "second.log"), "unique.log"), is(7002L));
+
+			List<String> lines = FilesReader.readAllLinesInFile(path, "unique.log");
+			assertThat(lines.size(), is(7002));
+			assertThat(lines.subList(0, 3), is(Arrays.asList("line0", "line1", "line2")));
+			assertThat(lines.subList(6999, 7002), is(Arrays.asList("line6999", "new line", "")));
+		}
+		// fichiers temporaires supprimés
+		assertThat(folder.getRoot().list().length, is(3));
+	}
+
+	@Test
+	public void deduplicateCsvFiles_() throws IOException {
+		createFile(folder, "first.csv", "id;country;amount\n1;FR;10\n2;DE;20\n3;FR;10\n");
+		String path = createFile(folder, "second.csv", "country;amount;comment\nFR;10;doublon\nBE;\"5;5\";nouveau\n");
+
+		for (boolean exactMode : new boolean[] { false, true }) {
+			Deduplicator.setExactMode(exactMode);
+			assertThat(Deduplicator.deduplicateCsvFiles(path, Arrays.asList("first.csv", "second.csv"), Arrays.asList("country", "amount"),
+					"unique.csv"), is(3L));
+			assertThat(FilesReader.readCsvFile(path, "unique.csv").stream()
+					.map(row -> row.get("id") + ":" + row.get("country") + ":" + row.get("amount") + ":" + row.get("comment"))
+					.collect(Collectors.toList()), is(Arrays.asList("1:FR:10:", "2:DE:20:", ":BE:5;5:nouveau")));
+
+			// toutes les colonnes forment la clé
+			assertThat(Deduplicator.deduplicateCsvFiles(path, Arrays.asList("first.csv", "second.csv", "first.csv"), null, "unique.csv"),
+					is(5L));
+		}
+	}
+
+	@Test
+	public void deduplicate_writeError() throws IOException {
+		String path = createFile(folder, "first.csv", "id;country\n1;FR\n2;FR\n");
+		// un répertoire ne peut être écrit comme un fichier
+		folder.newFolder("unique.csv");
+
+		for (boolean exactMode : new boolean[] { false, true }) {
+			Deduplicator.setExactMode(exactMode);
+			assertThat(Deduplicator.deduplicateLinesInFiles(path, Arrays.asList("first.csv"), "unique.csv"), is(-1L));
+			assertThat(Deduplicator.deduplicateCsvFiles(path, Arrays.asList("first.csv"), null, "unique.csv"), is(-1L));
+		}
+	}
+
+	@Test
+	public void deduplicateCsvFiles_unknownKeyColumn() throws IOException {
+		String path = createFile(folder, "first.csv", "id;country\n1;FR\n2;FR\n");
+
+		assertThat(Deduplicator.deduplicateCsvFiles(path, Arrays.asList("first.csv"), Arrays.asList("country", "pays"), "unique.csv"),
+				is(-1L));
+		assertThat(Files.exists(folder.getRoot().toPath().resolve("unique.csv")), is(false));
+	}
+
+}
@@ -0,0 +1,112 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesAppenderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> appendConcurrently(FlushPolicy policy) throws Exception {
+		String path = folder.getRoot().getAbsolutePath();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		try (FilesAppender appender = FilesAppender.open(path, "audit.log", policy)) {
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int thread = t;
+				threads.add(new Thread(() -> {
+					for (int i = 0; i < 1000; i++) {
+						CompletableFuture<Void> future = appender.appendLine(thread + ";" + i);
+						synchronized (futures) {
+							futures.add(future);
+						}
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		}
+		// toutes les écritures sont confirmées à la fermeture au plus tard
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+		return Files.readAllLines(folder.getRoot().toPath().resolve("audit.log"));
+	}
+
+	private static void assertAllLinesInThreadOrder(List<String> lines) {
+		assertThat(lines.size(), is(8000));
+		for (int t = 0; t < 8; t++) {
+			String prefix = t + ";";
+			List<String> threadLines = lines.stream().filter(line -> line.startsWith(prefix)).collect(Collectors.toList());
+			for (int i = 0; i < 1000; i++) {
+				assertThat(threadLines.get(i), is(prefix + i));
+			}
+		}
+	}
+
+	@Test
+	public void append_perBatch() throws Exception {
+		assertAllLinesInThreadOrder(appendConcurrently(FlushPolicy.perBatch()));
+	}
+
+	@Test
+	public void append_everyMillis() throws Exception {
+		assertAllLinesInThreadOrder(appendConcurrently(FlushPolicy.everyMillis(5)));
+	}
+
+	@Test
+	public void append_everyBytes() throws Exception {
+		assertAllLinesInThreadOrder(appendConcurrently(FlushPolicy.everyBytes(4096)));
+	}
+
+	@Test
+	public void append_durability() throws Exception {
+		String path = folder.getRoot().getAbsolutePath();
+		Path file = folder.getRoot().toPath().resolve("events.log");
+		Files.write(file, "existant\n".getBytes());
+
+		FilesAppender appender = FilesAppender.open(path, "events.log", FlushPolicy.everyBytes(1000));
+		CompletableFuture<Void> small = appender.append("a\n");
+		// volume non atteint : l'écriture n'est confirmée qu'à la fermeture
+		Thread.sleep(50);
+		assertThat(small.isDone(), is(false));
+		CompletableFuture<Void> large = appender.append("b".repeat(2000) + "\n");
+		large.get(10, TimeUnit.SECONDS);
+		assertThat(small.isDone(), is(true));
+
+		CompletableFuture<Void> last = appender.append("c\n");
+		appender.close();
+		assertThat(last.isDone(), is(true));
+		assertThat(Files.readAllLines(file).size(), is(4));
+
+		// ajout après fermeture
+		try {
+			appender.append("d").get();
+			throw new AssertionError("ajout après fermeture accepté");
+		} catch (ExecutionException e) {
+			assertThat(e.getCause() instanceof IllegalStateException, is(true));
+		}
+		assertThat(Files.readAllLines(file).get(0), is("existant"));
+	}
+
+	@Test
+	public void open_invalidPath() throws IOException {
+		assertThat(FilesAppender.open(folder.newFile("file").getAbsolutePath(), "child.log", FlushPolicy.perBatch()) == null, is(true));
+	}
+
+}
@@ -0,0 +1,312 @@
+package filesmanager;
+
+import static filesmanager.TestFiles.createFile;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesReaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void streamCsvFile_() throws IOException {
+		String path = createFile(folder, "data.csv", "﻿id;name;city\n1;Alice;Paris\n2;Bob;Lyon\n3;Carol\n");
+
+		try (Stream<Map<String, String>> rows = FilesReader.streamCsvFile(path, "data.csv", Arrays.asList("id", "city"))) {
+			List<Map<String, String>> datas = rows.collect(Collectors.toList());
+			assertThat(datas.size(), is(3));
+			assertThat(datas.get(0).get("id"), is("1"));
+			assertThat(datas.get(0).get("city"), is("Paris"));
+			assertThat(datas.get(0).containsKey("name"), is(false));
+			// colonne absente de la ligne
+			assertThat(datas.get(2).containsKey("city"), is(false));
+		}
+
+		// même résultat que la lecture complète
+		try (Stream<Map<String, String>> rows = FilesReader.streamCsvFile(path, "data.csv")) {
+			assertThat(rows.collect(Collectors.toList()), is(FilesReader.readCsvFile(path, "data.csv")));
+		}
+
+		// fichier inexistant
+		try (Stream<Map<String, String>> rows = FilesReader.streamCsvFile(path, "unknown.csv")) {
+			assertThat(rows.count(), is(0L));
+		}
+	}
+
+	@Test
+	public void readCsvFiles_() throws IOException {
+		createFile(folder, "a.csv", "id;name\n1;Alice\n2;Bob");
+		String path = createFile(folder, "b.csv", "name;id\r\nCarol;3\r\n");
+
+		List<Map<String, String>> datas = FilesReader.readCsvFiles(path, Arrays.asList("a.csv", "b.csv"), Arrays.asList("id"));
+		assertThat(datas.stream().map(row -> row.get("id")).collect(Collectors.toList()), is(Arrays.asList("1", "2", "3")));
+		assertThat(datas.get(2).size(), is(1));
+	}
+
+	@Test
+	public void readCsvFileInParallel_() throws IOException {
+		StringBuilder content = new StringBuilder("id;value\r\n");
+		for (int i = 0; i < 10000; i++) {
+			content.append(i).append(';').append("valeur é").append(i).append("\r\n");
+		}
+		content.append("10000;dernière");
+		String path = createFile(folder, "big.csv", content.toString());
+
+		List<Map<String, String>> datas = FilesReader.readCsvFileInParallel(path, "big.csv");
+		assertThat(datas, is(FilesReader.readCsvFile(path, "big.csv")));
+		assertThat(datas.size(), is(10001));
+		assertThat(datas.get(10000).get("value"), is("dernière"));
+
+		// fichier sans données
+		createFile(folder, "empty.csv", "id;value\n");
+		assertThat(FilesReader.readCsvFileInParallel(path, "empty.csv").isEmpty(), is(true));
+	}
+
+	@Test
+	public void readAndInterpretLinesInFiles_() throws IOException {
+		createFile(folder, "a.log", "INFO start\r\nERROR code=12\n\nERROR code=7");
+		String path = createFile(folder, "b.log", "ERROR code=3\n");
+
+		assertThat(FilesReader.readAndInterpretLinesInFiles(path, Arrays.asList("a.log", "b.log"), "(?<=code=)\\d+", Integer::valueOf),
+				is(Arrays.asList(12, 7, 3)));
+		assertThat(FilesReader.readAllLinesInFile(path, "a.log"), is(Arrays.asList("INFO start", "ERROR code=12", "", "ERROR code=7")));
+	}
+
+	@Test
+	public void readFilesConcurrently_() throws IOException {
+		String path = null;
+		for (int i = 0; i < 20; i++) {
+			path = createFile(folder, "file" + i + ".csv", "id;value\n" + i + ";a\n" + i + ";b\n");
+		}
+		List<String> files = IntStream.range(0, 20).mapToObj(i -> "file" + i + ".csv").collect(Collectors.toList());
+		// un fichier inexistant n'interrompt pas la lecture des autres
+		files.add(3, "unknown.csv");
+
+		assertThat(FilesReader.readCsvFiles(path, files, Arrays.asList("id"), 4), is(FilesReader.readCsvFiles(path, files, Arrays.asList("id"))));
+		assertThat(FilesReader.readAndInterpretLinesInFiles(path, files, "^\\d+", Integer::valueOf, 4),
+				is(FilesReader.readAndInterpretLinesInFiles(path, files, "^\\d+", Integer::valueOf)));
+		assertThat(FilesReader.readAndInterpretLinesInFiles(path, files, "^\\d+", Integer::valueOf, 4).size(), is(40));
+	}
+
+	@Test
+	public void readCsvFileAsColumns_() throws IOException {
+		String path = createFile(folder, "typed.csv", "id;amount;label;active;total;unused\n1;2.5;a;TRUE;-9000000000;x\n2;;b;false;0\n-3;1e3;\"c;d\";;42\n");
+
+		Map<String, CsvColumnType> schema = new LinkedHashMap<>();
+		schema.put("label", CsvColumnType.STRING);
+		schema.put("id", CsvColumnType.INT);
+		schema.put("amount", CsvColumnType.DOUBLE);
+		schema.put("active", CsvColumnType.BOOLEAN);
+		schema.put("total", CsvColumnType.LONG);
+		schema.put("missing", CsvColumnType.INT);
+
+		CsvColumns columns = FilesReader.readCsvFileAsColumns(path, "typed.csv", schema);
+		assertThat(columns.size(), is(3));
+		assertThat(columns.getTitles(), is(Arrays.asList("label", "id", "amount", "active", "total", "missing")));
+		assertThat(columns.getInts("id"), is(new int[] { 1, 2, -3 }));
+		assertThat(columns.getDoubles("amount")[2], is(1000.0));
+		assertThat(columns.isNull("amount", 1), is(true));
+		assertThat(columns.getStrings("label"), is(new String[] { "a", "b", "c;d" }));
+		assertThat(columns.getBooleans("active"), is(new boolean[] { true, false, false }));
+		assertThat(columns.isNull("active", 2), is(true));
+		assertThat(columns.getLongs("total"), is(new long[] { -9000000000L, 0, 42 }));
+		assertThat(columns.isNull("missing", 0), is(true));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void readCsvFileAsColumns_invalidValue() throws IOException {
+		String path = createFile(folder, "invalid.csv", "id\n1\n1x\n");
+		FilesReader.readCsvFileAsColumns(path, "invalid.csv", Map.of("id", CsvColumnType.LONG));
+	}
+
+	@Test
+	public void readCsvFilesWithFilters_() throws IOException {
+		String path = createFile(folder, "orders.csv", "id;status;amount;country\n1;OK;10;FR\n2;KO;20;FR\n3;OK;30;DE\n4;OK;40\n");
+
+		Map<String, Predicate<String>> filters = new LinkedHashMap<>();
+		filters.put("status", "OK"::equals);
+		filters.put("country", country -> !country.equals("DE"));
+
+		// la colonne filtrée 'status' n'est pas extraite, la ligne 4 sans pays est écartée
+		List<Map<String, String>> datas = FilesReader.readCsvFiles(path, Arrays.asList("orders.csv"), Arrays.asList("id", "country"), filters);
+		assertThat(datas.size(), is(1));
+		assertThat(datas.get(0).get("id"), is("1"));
+		assertThat(datas.get(0).containsKey("status"), is(false));
+
+		// colonne filtrée absente du fichier
+		assertThat(FilesReader.readCsvFiles(path, Arrays.asList("orders.csv"), null, Map.of("unknown", value -> true)).isEmpty(), is(true));
+	}
+
+	@Test
+	public void aggregateCsvFiles_() throws IOException {
+		StringBuilder content = new StringBuilder("country;currency;amount;quantity\n");
+		for (int i = 0; i < 30000; i++) {
+			content.append(i % 3 == 0 ? "FR" : "DE").append(';').append("EUR").append(';').append(i % 10).append(';')
+					.append(i % 7 == 0 ? "" : "1").append('\n');
+		}
+		createFile(folder, "sales1.csv", content.toString());
+		String path = createFile(folder, "sales2.csv", "currency;country;amount\nUSD;US;5.5\nUSD;US;-1\n");
+
+		Map<List<String>, CsvGroupStatistics> groups = FilesReader.aggregateCsvFiles(path, Arrays.asList("sales1.csv", "sales2.csv"),
+				Arrays.asList("country", "currency"), Arrays.asList("amount", "quantity"));
+
+		assertThat(groups.keySet().size(), is(3));
+		CsvGroupStatistics fr = groups.get(Arrays.asList("FR", "EUR"));
+		assertThat(fr.getCount(), is(10000L));
+		assertThat(fr.getMin("amount"), is(0.0));
+		assertThat(fr.getMax("amount"), is(9.0));
+		assertThat(fr.getSum("amount"), is(45000.0));
+		assertThat(fr.getAverage("amount"), is(4.5));
+		assertThat(groups.get(Arrays.asList("DE", "EUR")).getCount(), is(20000L));
+		assertThat(groups.get(Arrays.asList("DE", "EUR")).getCount("quantity") + fr.getCount("quantity"), is(30000L - 4286));
+
+		// colonne de valeurs absente du second fichier
+		CsvGroupStatistics us = groups.get(Arrays.asList("US", "USD"));
+		assertThat(us.getSum("amount"), is(4.5));
+		assertThat(us.getCount("quantity"), is(0L));
+		assertThat(Double.isNaN(us.getAverage("quantity")), is(true));
+	}
+
+	@Test
+	public void findInSortedCsvFile_() throws IOException {
+		StringBuilder content = new StringBuilder("label;id\r\n");
+		for (int i = 0; i < 20000; i++) {
+			content.append("label").append(i).append(';').append(i / 2).append("\r\n");
+			if (i % 1000 == 0) {
+				content.append("\r\n");
+			}
+		}
+		String path = createFile(folder, "sorted.csv", content.toString());
+
+		// tri numérique
+		List<Map<String, String>> rows = FilesReader.findInSortedCsvFile(path, "sorted.csv", "id", "4321",
+				Comparator.comparingInt(Integer::parseInt));
+		assertThat(rows.stream().map(row -> row.get("label")).collect(Collectors.toList()), is(Arrays.asList("label8642", "label8643")));
+		assertThat(FilesReader.findInSortedCsvFile(path, "sorted.csv", "id", "0", Comparator.comparingInt(Integer::parseInt)).size(), is(2));
+		assertThat(FilesReader.findInSortedCsvFile(path, "sorted.csv", "id", "9999", Comparator.comparingInt(Integer::parseInt)).size(), is(2));
+		assertThat(FilesReader.findInSortedCsvFile(path, "sorted.csv", "id", "10000", Comparator.comparingInt(Integer::parseInt)).size(), is(0));
+		assertThat(FilesReader.findInSortedCsvFile(path, "sorted.csv", "absente", "1").size(), is(0));
+
+		// tri lexicographique
+		path = createFile(folder, "countries.csv", "code;name\nBE;Belgique\nCH;Suisse\nDE;Allemagne\nFR;France\nFR;Monaco");
+		assertThat(FilesReader.findInSortedCsvFile(path, "countries.csv", "code", "FR").size(), is(2));
+		assertThat(FilesReader.findInSortedCsvFile(path, "countries.csv", "code", "BE").get(0).get("name"), is("Belgique"));
+		assertThat(FilesReader.findInSortedCsvFile(path, "countries.csv", "code", "CA").size(), is(0));
+		assertThat(FilesReader.findInSortedCsvFile(path, "countries.csv", "code", "ZA").size(), is(0));
+
+		// clés entre guillemets
+		path = createFile(folder, "quoted.csv", "name;code\nun;\"A;1\"\ndeux;\"B\"\"2\"\r\ntrois;C\r\n");
+		assertThat(FilesReader.findInSortedCsvFile(path, "quoted.csv", "code", "A;1").get(0).get("name"), is("un"));
+		assertThat(FilesReader.findInSortedCsvFile(path, "quoted.csv", "code", "B\"2").get(0).get("name"), is("deux"));
+		assertThat(FilesReader.findInSortedCsvFile(path, "quoted.csv", "code", "C").get(0).get("name"), is("trois"));
+	}
+
+	@Test
+	public void compressedFiles_() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		StringBuilder content = new StringBuilder("id;value");
+		for (int i = 0; i < 5000; i++) {
+			content.append('\n').append(i).append(";valeur é").append(i % 3);
+		}
+		createFile(folder, "plain.csv", content.toString());
+		FilesWriter.writeFile(path, "data.csv.gz", content.toString(), FilesWriter.OVERWRITE_EXISTING_CONTENT);
+		// ajout d'un second membre gzip à la suite du premier
+		FilesWriter.writeFile(path, "data.csv.gz", Arrays.asList("", "5000;dernière"), FilesWriter.ADD_AFTER_EXISTING_CONTENT);
+
+		List<Map<String, String>> datas = FilesReader.readCsvFile(path, "data.csv.gz");
+		assertThat(datas.size(), is(5001));
+		assertThat(datas.subList(0, 5000), is(FilesReader.readCsvFile(path, "plain.csv")));
+		assertThat(datas.get(5000).get("value"), is("dernière"));
+		assertThat(FilesReader.readCsvFileInParallel(path, "data.csv.gz"), is(datas));
+		assertThat(FilesReader.aggregateCsvFiles(path, Arrays.asList("data.csv.gz"), Arrays.asList("value"), Arrays.asList("id"))
+				.get(Arrays.asList("valeur é0")).getCount(), is(1667L));
+		assertThat(FilesReader.findInSortedCsvFile(path, "data.csv.gz", "id", "42", Comparator.comparingInt(Integer::parseInt))
+				.get(0).get("value"), is("valeur é0"));
+
+		// fichier compressé reconnu à sa signature, sans l'extension .gz
+		try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(folder.getRoot().toPath().resolve("archive.log")))) {
+			output.write("ERROR code=12\nINFO\nERROR code=7\n".getBytes(StandardCharsets.UTF_8));
+		}
+		assertThat(FilesReader.readAndInterpretLinesInFiles(path, Arrays.asList("archive.log"), "(?<=code=)\\d+", Integer::valueOf),
+				is(Arrays.asList(12, 7)));
+		assertThat(FilesReader.readAllLinesInFile(path, "archive.log").size(), is(3));
+	}
+
+	@Test
+	public void setEncoding_() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("latin.csv");
+		Files.write(file, "id;name\n1;Léa\n2;Bob\n3;Zoë – 5 €\n".getBytes(Charset.forName("windows-1252")));
+		String path = folder.getRoot().getAbsolutePath();
+
+		try {
+			FilesReader.setEncoding(Charset.forName("windows-1252"));
+			assertThat(FilesReader.readCsvFile(path, "latin.csv").stream().map(row -> row.get("name")).collect(Collectors.toList()),
+					is(Arrays.asList("Léa", "Bob", "Zoë – 5 €")));
+			FilesReader.setEncoding(StandardCharsets.ISO_8859_1);
+			assertThat(FilesReader.readAllLinesInFile(path, "latin.csv").get(1), is("1;Léa"));
+		} finally {
+			FilesReader.setEncoding(StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setEncoding_notAsciiCompatible() {
+		FilesReader.setEncoding(StandardCharsets.UTF_16);
+	}
+
+	@Test
+	public void setDictionaryEncoding_() throws IOException {
+		StringBuilder content = new StringBuilder("id;status;country;code\n");
+		for (int i = 0; i < 3000; i++) {
+			content.append(i).append(';').append(i % 2 == 0 ? "OK" : "\"KO\"").append(';').append("pays ").append(i % 7).append(';')
+					.append("\"a\"\"b\"").append('\n');
+		}
+		String path = createFile(folder, "dictionary.csv", content.toString());
+		List<Map<String, String>> expected = FilesReader.readCsvFile(path, "dictionary.csv");
+
+		try {
+			FilesReader.setDictionaryEncoding(true);
+			FilesReader.setMaxDictionarySize(5);
+			List<Map<String, String>> datas = FilesReader.readCsvFile(path, "dictionary.csv");
+			assertThat(datas, is(expected));
+			// valeurs répétées, entre guillemets ou non, partageant la même instance
+			assertThat(datas.get(2).get("status"), sameInstance(datas.get(2998).get("status")));
+			assertThat(datas.get(1).get("status"), sameInstance(datas.get(2999).get("status")));
+			// colonnes dépassant le nombre maximal de valeurs distinctes
+			assertThat(datas.get(0).get("country"), is(datas.get(2996).get("country")));
+			assertThat(datas.get(0).get("country"), not(sameInstance(datas.get(2996).get("country"))));
+			assertThat(datas.get(0).get("code"), is("a\"b"));
+
+			List<Map<String, String>> parallelDatas = FilesReader.readCsvFileInParallel(path, "dictionary.csv");
+			assertThat(parallelDatas, is(expected));
+		} finally {
+			FilesReader.setDictionaryEncoding(false);
+			FilesReader.setMaxDictionarySize(10_000);
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesTailerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private void append(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	@Test
+	public void readAndInterpretNewLinesInFiles_() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		Path log = folder.getRoot().toPath().resolve("app.log");
+		List<String> files = Arrays.asList("app.log");
+
+		append(log, "ERROR code=1\nINFO\nERROR code=2\nERROR co");
+		assertThat(new FilesTailer(path, "tail.properties").readAndInterpretNewLinesInFiles(path, files, "(?<=code=)\\d+", Integer::valueOf),
+				is(Arrays.asList(1, 2)));
+
+		// reprise après redémarrage : la ligne incomplète est lue une fois terminée
+		append(log, "de=3\nERROR code=4\n");
+		FilesTailer tailer = new FilesTailer(path, "tail.properties");
+		assertThat(tailer.readAndInterpretNewLinesInFiles(path, files, "(?<=code=)\\d+", Integer::valueOf), is(Arrays.asList(3, 4)));
+		assertThat(tailer.readAndInterpretNewLinesInFiles(path, files, "(?<=code=)\\d+", Integer::valueOf), is(Collections.emptyList()));
+
+		// fichier remplacé (rotation) : relu depuis le début
+		Files.delete(log);
+		append(log, "WARN code=5\nERROR code=6\nERROR code=7\n");
+		assertThat(tailer.readAndInterpretNewLinesInFiles(path, files, "(?<=code=)\\d+", Integer::valueOf), is(Arrays.asList(5, 6, 7)));
+
+		// fichier tronqué
+		Files.write(log, "ERROR code=8\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(tailer.readAndInterpretNewLinesInFiles(path, files, "(?<=code=)\\d+", Integer::valueOf), is(Arrays.asList(8)));
+	}
+
+	@Test
+	public void follow_() throws Exception {
+		String path = folder.getRoot().getAbsolutePath();
+		Path log = folder.getRoot().toPath().resolve("follow.log");
+		append(log, "code=1\n");
+
+		List<Integer> values = new CopyOnWriteArrayList<>();
+		Thread follower = new Thread(() -> new FilesTailer(path, "follow.properties").follow(path, "follow.log", "(?<=code=)\\d+",
+				Integer::valueOf, values::add, 10));
+		follower.start();
+
+		append(log, "code=2\n");
+		for (int i = 0; i < 200 && values.size() < 2; i++) {
+			Thread.sleep(10);
+		}
+		follower.interrupt();
+		follower.join(5000);
+
+		assertThat(values, is(Arrays.asList(1, 2)));
+		assertThat(follower.isAlive(), is(false));
+	}
+
+}
@@ -0,0 +1,192 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Map<String, String> row(String... titlesAndValues) {
+		Map<String, String> row = new LinkedHashMap<>();
+		for (int i = 0; i < titlesAndValues.length; i += 2) {
+			row.put(titlesAndValues[i], titlesAndValues[i + 1]);
+		}
+		return row;
+	}
+
+	private String readFile(String fileName) throws IOException {
+		return new String(Files.readAllBytes(folder.getRoot().toPath().resolve(fileName)), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void writeCsvFile_stream() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		FilesWriter.writeCsvFile(path, "big.csv", IntStream.range(0, 100000)
+				.mapToObj(i -> row("id", String.valueOf(i), "comment", i % 1000 == 0 ? "a;\"b\"\nc" : "é€" + i)),
+				null, FilesWriter.OVERWRITE_EXISTING_CONTENT);
+
+		List<Map<String, String>> datas = FilesReader.readCsvFile(path, "big.csv");
+		assertThat(datas.size(), is(100000));
+		assertThat(datas.get(0).get("comment"), is("a;\"b\"\nc"));
+		assertThat(datas.get(99999).get("comment"), is("é€99999"));
+	}
+
+	@Test
+	public void writeCsvFile_loneSurrogates() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		// surrogate haut isolé en fin de ligne, en fin de fichier, et paire complète
+		List<Map<String, String>> datas = Arrays.asList(row("value", "a\uD83D"), row("value", "\uD83D\uDE00"), row("value", "b\uD83D"));
+		List<String> titles = Arrays.asList("value");
+
+		FilesWriter.writeCsvFile(path, "surrogates.csv", datas, titles, FilesWriter.OVERWRITE_EXISTING_CONTENT);
+		assertThat(Arrays.equals(Files.readAllBytes(folder.getRoot().toPath().resolve("surrogates.csv")),
+				FilesWriter.generateCsvContent(datas, titles, true).getBytes(StandardCharsets.UTF_8)), is(true));
+	}
+
+	@Test
+	public void writeCsvFile_sameContentAsGenerated() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		List<Map<String, String>> datas = Arrays.asList(row("id", "1", "name", "Alice", "city", "Paris"), row("name", "Bob", "id", "2"));
+		List<String> titles = Arrays.asList("name", "id", "city");
+
+		FilesWriter.writeCsvFile(path, "data.csv", datas, titles, FilesWriter.OVERWRITE_EXISTING_CONTENT);
+		assertThat(readFile("data.csv"), is(FilesWriter.generateCsvContent(datas, titles, true)));
+		FilesWriter.writeCsvFile(path, "data.csv", datas.iterator(), titles, FilesWriter.ADD_AFTER_EXISTING_CONTENT);
+		assertThat(readFile("data.csv"), is("name;id;city\nAlice;1;Paris\nBob;2;\nAlice;1;Paris\nBob;2;"));
+		assertThat(FilesReader.readCsvFile(path, "data.csv").stream().map(row -> row.get("name")).collect(Collectors.toList()),
+				is(Arrays.asList("Alice", "Bob", "Alice", "Bob")));
+
+		// aucune ligne
+		FilesWriter.writeCsvFile(path, "empty.csv", Collections.<Map<String, String>>emptyIterator(), titles,
+				FilesWriter.OVERWRITE_EXISTING_CONTENT);
+		assertThat(readFile("empty.csv"), is("name;id;city\n"));
+	}
+
+	@Test
+	public void generateCsvContent_() {
+		List<String> titles = IntStream.range(0, 300).mapToObj(i -> "col" + i).collect(Collectors.toList());
+		Map<String, String> full = new LinkedHashMap<>();
+		for (int i = 299; i >= 0; i--) {
+			full.put("col" + i, "v" + i);
+		}
+		full.put("autre", "ignorée");
+		Map<String, String> partial = row("col1", "a;b", "col0", "x");
+		List<Map<String, String>> datas = Arrays.asList(full, partial);
+
+		String content = FilesWriter.generateCsvContent(datas, titles, true);
+		String[] lines = content.split("\n", -1);
+		assertThat(lines.length, is(3));
+		assertThat(lines[0], is(String.join(";", titles)));
+		assertThat(lines[1], is(IntStream.range(0, 300).mapToObj(i -> "v" + i).collect(Collectors.joining(";"))));
+		assertThat(lines[2], is("x;\"a;b\"" + ";".repeat(298)));
+		// les Map transmises ne sont pas complétées
+		assertThat(partial.size(), is(2));
+
+		// titres de la première ligne, sans ligne de titres
+		assertThat(FilesWriter.generateCsvContent(Arrays.asList(partial), null, false), is("\n\"a;b\";x"));
+	}
+
+	@Test
+	public void replaceLinesInFile_() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		Files.write(folder.getRoot().toPath().resolve("config.properties"),
+				"# configuration\r\nhost=localhost\r\nport=8080\nuser=admin\nport.ssl=8443".getBytes(StandardCharsets.UTF_8));
+		Map<String, String> rules = new LinkedHashMap<>();
+		rules.put("port=.*", "port=9090");
+		rules.put("port.*", "port.ssl=9443");
+		rules.put("(?i)USER=.*", "user=é");
+
+		assertThat(FilesWriter.replaceLinesInFile(path, "config.properties", rules), is(3));
+		// sauts de ligne d'origine conservés, premier pattern correspondant appliqué
+		assertThat(readFile("config.properties"), is("# configuration\r\nhost=localhost\r\nport=9090\nuser=é\nport.ssl=9443"));
+		assertThat(FilesWriter.replaceLinesInFile(path, "config.properties", "host=.*", "host=server"), is(1));
+		assertThat(readFile("config.properties"), is("# configuration\r\nhost=server\r\nport=9090\nuser=é\nport.ssl=9443"));
+
+		// aucune ligne remplacée : fichier inchangé, pas de fichier temporaire restant
+		assertThat(FilesWriter.replaceLinesInFile(path, "config.properties", "absent=.*", "x"), is(0));
+		assertThat(folder.getRoot().list().length, is(1));
+		assertThat(FilesWriter.replaceLinesInFile(path, "unknown.properties", "host=.*", "x"), is(0));
+	}
+
+	@Test
+	public void replaceLinesInFile_permissionsAndLinks() throws IOException {
+		Path root = folder.getRoot().toPath();
+		Assume.assumeTrue(Files.getFileAttributeView(root, PosixFileAttributeView.class) != null);
+		Path file = root.resolve("app.properties");
+		Files.write(file, "host=localhost\n".getBytes(StandardCharsets.UTF_8));
+		Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+		Path link = Files.createSymbolicLink(root.resolve("link.properties"), file);
+
+		assertThat(FilesWriter.replaceLinesInFile(root.toString(), "link.properties", "host=.*", "host=server"), is(1));
+		// le lien est conservé et le fichier pointé réécrit avec ses permissions
+		assertThat(Files.isSymbolicLink(link), is(true));
+		assertThat(Files.readAllLines(file), is(Arrays.asList("host=server")));
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file)), is("rw-r--r--"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void setEncoding_notAsciiCompatible() {
+		FilesWriter.setEncoding(StandardCharsets.UTF_16);
+	}
+
+	@Test
+	public void replaceLinesInFile_compressed() throws IOException {
+		String path = folder.getRoot().getAbsolutePath();
+		FilesWriter.writeFile(path, "dump.txt.gz", IntStream.range(0, 50000).mapToObj(i -> "key" + i + "=" + i).collect(Collectors.toList()),
+				FilesWriter.OVERWRITE_EXISTING_CONTENT);
+
+		assertThat(FilesWriter.replaceLinesInFile(path, "dump.txt.gz", Map.of("key1\\d*=.*", "masqué")), is(11111));
+		List<String> lines = FilesReader.readAllLinesInFile(path, "dump.txt.gz");
+		assertThat(lines.size(), is(50000));
+		assertThat(lines.get(1), is("masqué"));
+		assertThat(lines.get(2), is("key2=2"));
+	}
+
+	@Test
+	public void replaceLinesInFiles_() throws IOException {
+		Path root = folder.getRoot().toPath();
+		for (int i = 0; i < 30; i++) {
+			Path directory = Files.createDirectories(root.resolve("module" + (i % 3)).resolve("conf"));
+			Files.write(directory.resolve("app" + i + ".properties"), ("version=1\nname=app" + i + "\nversion.min=1\n").getBytes(StandardCharsets.UTF_8));
+		}
+		Files.write(root.resolve("root.properties"), "version=1\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(root.resolve("module0").resolve("readme.txt"), "version=1\n".getBytes(StandardCharsets.UTF_8));
+
+		Map<String, Integer> counts = FilesWriter.replaceLinesInFiles(root.toString(), "**.properties",
+				Map.of("version(\\.min)?=1", "version=2"), 4);
+		assertThat(counts.size(), is(31));
+		assertThat(counts.values().stream().mapToInt(Integer::intValue).sum(), is(61));
+		assertThat(counts.get(Paths.get("module1", "conf", "app4.properties").toString()), is(2));
+		assertThat(Files.readAllLines(root.resolve("module1").resolve("conf").resolve("app4.properties")),
+				is(Arrays.asList("version=2", "name=app4", "version=2")));
+		assertThat(Files.readAllLines(root.resolve("module0").resolve("readme.txt")), is(Arrays.asList("version=1")));
+
+		// glob limité au répertoire racine
+		assertThat(FilesWriter.replaceLinesInFiles(root.toString(), "*.properties", Map.of("version=2", "version=3"), 4),
+				is(Map.of("root.properties", 1)));
+		assertThat(FilesWriter.replaceLinesInFiles(root.resolve("absent").toString(), "**", Map.of("a", "b"), 4).isEmpty(), is(true));
+	}
+
+}
@@ -0,0 +1,68 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class LiteralPrefilterTest {
+
+	@Test
+	public void requiredLiteral_() {
+		assertThat(LiteralPrefilter.requiredLiteral("ERROR"), is("ERROR"));
+		assertThat(LiteralPrefilter.requiredLiteral("orderId=\\d+"), is("orderId="));
+		assertThat(LiteralPrefilter.requiredLiteral("^\\[WARN\\] .*user=(\\w+)"), is("[WARN] "));
+		assertThat(LiteralPrefilter.requiredLiteral("(?<=code=)\\d+ ms"), is(" ms"));
+		// caractères optionnels ou répétés
+		assertThat(LiteralPrefilter.requiredLiteral("colou?r"), is("colo"));
+		assertThat(LiteralPrefilter.requiredLiteral("ab{2,3}cdef"), is("cdef"));
+		assertThat(LiteralPrefilter.requiredLiteral("xy+z"), is("xy"));
+		assertThat(LiteralPrefilter.requiredLiteral("[A-Z]{3}-[0-9]+ tva"), is(" tva"));
+
+		// aucun littéral obligatoire
+		assertThat(LiteralPrefilter.requiredLiteral(".*"), nullValue());
+		assertThat(LiteralPrefilter.requiredLiteral("ERROR|WARN"), nullValue());
+		assertThat(LiteralPrefilter.requiredLiteral("(?i)error"), nullValue());
+		assertThat(LiteralPrefilter.requiredLiteral("\\Qa.b\\E"), nullValue());
+		assertThat(LiteralPrefilter.requiredLiteral("\\d+\\s\\w*"), nullValue());
+	}
+
+	@Test
+	public void requiredLiteral_escapeOperands() {
+		assertThat(LiteralPrefilter.requiredLiteral("\\x41BC"), is("BC"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\x{1F600}BC"), is("BC"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\u0041BC"), is("BC"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\0101BC"), is("BC"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\cAxyz"), is("xyz"));
+		assertThat(LiteralPrefilter.requiredLiteral("(?<g>a)\\k<g>"), nullValue());
+		assertThat(LiteralPrefilter.requiredLiteral("\\p{Lu}ab\\P{L}"), is("ab"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\pLab"), is("ab"));
+		assertThat(LiteralPrefilter.requiredLiteral("\\N{LATIN SMALL LETTER A}bc"), is("bc"));
+		assertThat(LiteralPrefilter.requiredLiteral("(a)\\12bc"), is("bc"));
+
+		// le littéral déterminé est toujours présent dans les lignes correspondant au motif
+		String[][] regexAndLines = { { "\\x41BC", "ABC" }, { "\\u0041BC", "ABC" }, { "\\0101BC", "ABC" },
+				{ "\\cAxyz", "\u0001xyz" }, { "(?<g>a)\\k<g>", "aa" }, { "\\p{Lu}ab", "Xab" } };
+		for (String[] regexAndLine : regexAndLines) {
+			assertThat(Pattern.matches(regexAndLine[0], regexAndLine[1]), is(true));
+			LiteralPrefilter prefilter = LiteralPrefilter.of(regexAndLine[0], StandardCharsets.UTF_8);
+			byte[] line = regexAndLine[1].getBytes(StandardCharsets.UTF_8);
+			assertThat(prefilter == null || prefilter.mayMatch(line, 0, line.length), is(true));
+		}
+	}
+
+	@Test
+	public void mayMatch_() {
+		LiteralPrefilter prefilter = LiteralPrefilter.of("décl=\\d+", StandardCharsets.UTF_8);
+		byte[] line = "xx dédécl=12 yy".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(prefilter.mayMatch(line, 0, line.length), is(true));
+		assertThat(prefilter.mayMatch(line, 0, line.length - 6), is(false));
+		assertThat(prefilter.mayMatch(line, 7, line.length), is(false));
+	}
+
+}
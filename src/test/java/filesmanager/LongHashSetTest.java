@@ -0,0 +1,24 @@
+package filesmanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+	@Test
+	public void add_() {
+		LongHashSet set = new LongHashSet(4);
+		for (long value = -50000; value < 50000; value++) {
+			assertThat(set.add(value * 31), is(true));
+		}
+		assertThat(set.add(0), is(false));
+		assertThat(set.add(31), is(false));
+		assertThat(set.add(1), is(true));
+		assertThat(set.contains(-50000L * 31), is(true));
+		assertThat(set.contains(2), is(false));
+		assertThat(set.size(), is(100001));
+	}
+
+}
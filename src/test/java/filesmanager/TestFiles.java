@@ -0,0 +1,27 @@
+package filesmanager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.rules.TemporaryFolder;
+
+final class TestFiles {
+
+	private TestFiles() {
+	}
+
+	/**
+	 * createFile <br>
+	 * <p>
+	 * Ecrit un fichier encodé en UTF-8 dans le répertoire temporaire d'un test
+	 * </p>
+	 *
+	 * @return l'adresse absolue du répertoire temporaire
+	 */
+	static String createFile(TemporaryFolder folder, String fileName, String content) throws IOException {
+		Files.write(folder.getRoot().toPath().resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+		return folder.getRoot().getAbsolutePath();
+	}
+
+}